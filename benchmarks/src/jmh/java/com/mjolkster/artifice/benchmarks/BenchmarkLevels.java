@@ -0,0 +1,43 @@
+package com.mjolkster.artifice.benchmarks;
+
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import com.mjolkster.artifice.core.world.generation.MapGenerator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Levels shared between benchmarks, generated from fixed seeds so runs are comparable
+ */
+public class BenchmarkLevels {
+
+    private static final Map<String, LevelData> levels = new HashMap<>();
+
+    private BenchmarkLevels() {
+    }
+
+    public static synchronized LevelData get(long seed, int size) {
+        // The instance method, so the level cache on disk is never involved
+        return levels.computeIfAbsent(seed + ":" + size, key -> new MapGenerator(32, 32, seed).generateLevel(size, size));
+    }
+
+    /**
+     * Centres of the walkable cells, in tiles
+     */
+    public static int[] floorCells(LevelData level) {
+        ByteGrid nav = level.getNavGrid();
+        int[] cells = new int[nav.count(0) * 2];
+        int i = 0;
+        for (int y = 0; y < level.getHeight(); y++) {
+            for (int x = 0; x < level.getWidth(); x++) {
+                if (nav.get(x, y) == 0) {
+                    cells[i++] = x;
+                    cells[i++] = y;
+                }
+            }
+        }
+        return Arrays.copyOf(cells, i);
+    }
+}
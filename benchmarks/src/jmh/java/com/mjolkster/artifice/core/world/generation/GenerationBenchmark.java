@@ -0,0 +1,121 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stages of {@link MapGenerator#generateLevel(int, int)} one at a time, each starting from the output of the
+ * stage before it for the same seed, plus the whole thing end to end.
+ * Lives in the generator's package so it can drive the package-private stages directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GenerationBenchmark {
+
+    @Param({"24", "32", "64"})
+    public int size;
+
+    @Param({"1234", "987654"})
+    public long seed;
+
+    private ByteGrid rawVertices;
+    private ByteGrid islandVertices;
+    private ByteGrid connectedVertices;
+    private ByteGrid tileStates;
+    private final List<Point> pipeStarts = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MapGenerator generator = new MapGenerator(32, 32, seed);
+        generator.createGrid(size, size);
+        rawVertices = new ByteGrid(generator.getGridVertices());
+
+        IslandManager islands = new IslandManager(generator.getGridVertices());
+        islands.processIslands(20, 1);
+        islandVertices = new ByteGrid(generator.getGridVertices());
+
+        islands.connectIslands();
+        connectedVertices = new ByteGrid(generator.getGridVertices());
+
+        Tessellator.Tessellation tessellation = Tessellator.tessellate(connectedVertices, size + 3, size + 3);
+        tileStates = tessellation.getTileStates();
+
+        int[] starts = tessellation.getPipeStarts();
+        pipeStarts.clear();
+        for (int i = 0; i < starts.length; i += 2) {
+            pipeStarts.add(new Point(starts[i], starts[i + 1]));
+        }
+    }
+
+    @Benchmark
+    public NoiseField noise() {
+        // Cleared so every call builds the field instead of hitting the cache
+        NoiseFieldService.clear();
+        return NoiseFieldService.get(seed, size, size, MossGenerator.MOISTURE_SCALE, 1);
+    }
+
+    @Benchmark
+    public ByteGrid islands() {
+        ByteGrid grid = new ByteGrid(rawVertices);
+        new IslandManager(grid).processIslands(20, 1);
+        return grid;
+    }
+
+    @Benchmark
+    public ByteGrid connection() {
+        ByteGrid grid = new ByteGrid(islandVertices);
+        new IslandManager(grid).connectIslands();
+        return grid;
+    }
+
+    @Benchmark
+    public Tessellator.Tessellation tessellation() {
+        return Tessellator.tessellate(connectedVertices, size + 3, size + 3);
+    }
+
+    @Benchmark
+    public OutlineSet outlines() {
+        return new ContourTracer(tileStates, 1f, 1f).trace();
+    }
+
+    @Benchmark
+    public void pipes(Blackhole blackhole) {
+        PipeGenerator pipeGenerator = new PipeGenerator(new ArrayList<>(pipeStarts), connectedVertices,
+            SeedStreams.forStage(seed, SeedStreams.Stage.PIPES));
+        blackhole.consume(pipeGenerator.constructPipe());
+        blackhole.consume(pipeGenerator.constructPipe());
+    }
+
+    @Benchmark
+    public LevelData fullLevel(ColdNoise coldNoise) {
+        // The instance method, so the level cache is never involved
+        return new MapGenerator(32, 32, seed).generateLevel(size, size);
+    }
+
+    /**
+     * Empties the noise field cache before every call, untimed, so {@link #fullLevel} includes building the moisture
+     * field rather than reusing the one from the previous call
+     */
+    @State(Scope.Thread)
+    public static class ColdNoise {
+        @Setup(Level.Invocation)
+        public void clearNoise() {
+            NoiseFieldService.clear();
+        }
+    }
+}
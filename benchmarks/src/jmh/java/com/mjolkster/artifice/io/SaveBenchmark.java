@@ -0,0 +1,57 @@
+package com.mjolkster.artifice.io;
+
+import com.badlogic.gdx.utils.Json;
+import com.mjolkster.artifice.core.entities.Archetype;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link Json} round trip {@link FileHandler} does for a save slot, in memory so disk speed doesn't count.
+ * Inventories are left empty, since items need the registry and its textures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveBenchmark {
+
+    private FileHandler.SaveSlot slot;
+    private String serialised;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FileHandler.Save save = new FileHandler.Save();
+        save.health = 24f;
+        save.tempInv = new ArrayList<>();
+        save.permanentInv = new ArrayList<>();
+        save.currentWorldSeed = 1234L;
+        save.archetype = Archetype.FIGHTER;
+        save.roundsPassed = 7;
+
+        slot = new FileHandler.SaveSlot();
+        slot.slotNumber = 0;
+        slot.saveData = save;
+        slot.timestamp = 1700000000000L;
+        slot.isEmpty = false;
+
+        serialised = new Json().toJson(slot);
+    }
+
+    @Benchmark
+    public String save() {
+        return new Json().toJson(slot);
+    }
+
+    @Benchmark
+    public FileHandler.SaveSlot load() {
+        return new Json().fromJson(FileHandler.SaveSlot.class, serialised);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mjolkster.artifice.util.ai;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mjolkster.artifice.benchmarks.BenchmarkLevels;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AStarPathfinder} over generated levels. Each operation searches a fixed batch of start and goal pairs,
+ * picked from the floor with a fixed seed. Only pairs with line of sight are used, since the pathfinder gives up on
+ * the rest straight away.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AStarBenchmark {
+
+    private static final int PAIRS = 64;
+    private static final int MIN_DISTANCE = 3;
+
+    @Param({"24", "32", "64"})
+    public int size;
+
+    @Param({"1234"})
+    public long seed;
+
+    private final AStarPathfinder pathfinder = new AStarPathfinder();
+    private final PathBuffer path = new PathBuffer();
+    private final List<Vector2> starts = new ArrayList<>();
+    private final List<Vector2> goals = new ArrayList<>();
+    private ByteGrid grid;
+    private int width;
+    private int height;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LevelData level = BenchmarkLevels.get(seed, size);
+        grid = level.getNavGrid();
+        width = level.getWidth();
+        height = level.getHeight();
+
+        int[] floor = BenchmarkLevels.floorCells(level);
+        int cells = floor.length / 2;
+        Random random = new Random(seed);
+
+        starts.clear();
+        goals.clear();
+        for (int attempt = 0; attempt < PAIRS * 100 && starts.size() < PAIRS && cells > 1; attempt++) {
+            int a = random.nextInt(cells);
+            int b = random.nextInt(cells);
+            Vector2 start = new Vector2(floor[a * 2], floor[a * 2 + 1]);
+            Vector2 goal = new Vector2(floor[b * 2], floor[b * 2 + 1]);
+
+            if (start.dst(goal) >= MIN_DISTANCE && pathfinder.hasLineOfSight(start, goal, grid)) {
+                starts.add(start);
+                goals.add(goal);
+            }
+        }
+    }
+
+    @Benchmark
+    public void findPaths(Blackhole blackhole) {
+        for (int i = 0; i < starts.size(); i++) {
+            blackhole.consume(pathfinder.findPath(starts.get(i), goals.get(i), grid, width, height, path));
+            blackhole.consume(path.remaining());
+        }
+    }
+}
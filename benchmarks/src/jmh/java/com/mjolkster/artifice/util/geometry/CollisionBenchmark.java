@@ -0,0 +1,109 @@
+package com.mjolkster.artifice.util.geometry;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.mjolkster.artifice.benchmarks.BenchmarkLevels;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import com.mjolkster.artifice.core.world.generation.LineHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision code against the collision lines of generated levels: outline ordering, single {@link Hitbox} tests,
+ * and the sweep {@code PlayableCharacter} runs for every move, over both a {@link Line} set and a {@link SegmentBuffer},
+ * with the player's idle hitbox placed on each floor cell
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+    @Param({"24", "32", "64"})
+    public int size;
+
+    @Param({"1234"})
+    public long seed;
+
+    private Set<Line> lines;
+    private Line[] lineArray;
+    private SegmentBuffer segments;
+    private int[] floor;
+    private Hitbox hitbox;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LevelData level = BenchmarkLevels.get(seed, size);
+        lines = level.getCollisionOutlines().toLines();
+        segments = level.getCollisionSegments();
+        lineArray = lines.toArray(new Line[0]);
+        floor = BenchmarkLevels.floorCells(level);
+
+        // PlayableCharacter's idle hitbox
+        hitbox = new Hitbox(List.of(
+            new Rectangle(13f / 32f, 0f / 32f, 10f / 32f, 12f / 32f),
+            new Rectangle(17f / 32f, 12f / 32f, 6f / 32f, 6f / 32f),
+            new Rectangle(18f / 32f, 18f / 32f, 8f / 32f, 4f / 32f)
+        ));
+    }
+
+    @Benchmark
+    public List<?> orderOutline() {
+        return LineHandler.orderOutline(lines);
+    }
+
+    @Benchmark
+    public int hitboxOverlaps() {
+        hitbox.setOrigin(floor[0], floor[1]);
+        int hits = 0;
+        for (Line line : lineArray) {
+            if (hitbox.overlaps(line)) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int segmentsIntersecting() {
+        hitbox.setOrigin(floor[0], floor[1]);
+        return segments.countIntersecting(hitbox.getBounds());
+    }
+
+    /**
+     * The sweep over a {@link Line} set, as PlayableCharacter.collides used to run it, once per floor cell
+     */
+    @Benchmark
+    public void collisionSweep(Blackhole blackhole) {
+        for (int i = 0; i < floor.length; i += 2) {
+            hitbox.setOrigin(floor[i], floor[i + 1]);
+            blackhole.consume(collides());
+        }
+    }
+
+    /**
+     * As PlayableCharacter.collides, stopping at the first hit, once per floor cell
+     */
+    @Benchmark
+    public void segmentSweep(Blackhole blackhole) {
+        for (int i = 0; i < floor.length; i += 2) {
+            hitbox.setOrigin(floor[i], floor[i + 1]);
+            blackhole.consume(hitbox.overlaps(segments));
+        }
+    }
+
+    private boolean collides() {
+        for (Line line : lines) {
+            if (hitbox.overlaps(line)) return true;
+        }
+        return false;
+    }
+}
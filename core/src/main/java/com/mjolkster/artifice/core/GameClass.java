@@ -7,8 +7,12 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.ScalingViewport;
+import com.mjolkster.artifice.core.world.LevelPrefetcher;
+import com.mjolkster.artifice.io.AssetCache;
+import com.mjolkster.artifice.io.AssetManifest;
 import com.mjolkster.artifice.registry.registries.ItemRegistry;
 import com.mjolkster.artifice.graphics.screen.MainMenuScreen;
+import com.mjolkster.artifice.util.graphics.EffectSystem;
 
 /**
  * Main class
@@ -16,26 +20,62 @@ import com.mjolkster.artifice.graphics.screen.MainMenuScreen;
 
 public class GameClass extends Game {
 
+    // Time per frame given to the preload while the menu is up
+    private static final int LOADING_BUDGET_MS = 8;
+
     public SpriteBatch batch;
     public BitmapFont font;
     public ScalingViewport viewport;
+    public LevelPrefetcher levelPrefetcher;
     private boolean isFullscreen = true;
+    private boolean assetsReady;
 
     @Override
     public void create() {
         batch = new SpriteBatch();
         font = new BitmapFont();
         viewport = new FitViewport(16, 9);
+        levelPrefetcher = new LevelPrefetcher();
 
         setFullscreen();
-        ItemRegistry.init();
 
         font.setUseIntegerPositions(false);
         font.getData().setScale(viewport.getWorldHeight() / Gdx.graphics.getHeight());
 
+        // The rest of the manifest loads behind the menu
+        AssetManifest.queue();
+        AssetCache.finishLoading(AssetManifest.GUI_SKIN);
+        AssetCache.finishLoading(AssetManifest.MAIN_MENU_BACKGROUND);
+
         this.setScreen(new MainMenuScreen(this));
     }
 
+    /**
+     * Advances the preload by one frame's budget, registering the items and queueing the first level once it has
+     * finished
+     *
+     * @return Whether the preload has finished
+     */
+    public boolean updateLoading() {
+        if (!assetsReady && AssetCache.update(LOADING_BUDGET_MS)) {
+            ItemRegistry.init();
+            assetsReady = true;
+
+            // The first level is likely wanted soon after Play
+            levelPrefetcher.prefetch(false);
+        }
+        return assetsReady;
+    }
+
+    /**
+     * Blocks until the preload has finished
+     */
+    public void finishLoading() {
+        if (assetsReady) return;
+        AssetCache.finishLoading();
+        updateLoading();
+    }
+
     private void setFullscreen() {
         DisplayMode displayMode = Gdx.graphics.getDisplayMode();
 
@@ -74,5 +114,8 @@ public class GameClass extends Game {
     public void dispose() {
         batch.dispose();
         font.dispose();
+        levelPrefetcher.dispose();
+        EffectSystem.dispose();
+        AssetCache.dispose();
     }
 }
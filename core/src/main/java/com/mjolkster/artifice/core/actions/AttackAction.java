@@ -1,6 +1,5 @@
 package com.mjolkster.artifice.core.actions;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -13,6 +12,7 @@ import com.mjolkster.artifice.core.entities.enemy.BaseEnemy;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.core.entities.enemy.WaspEnemy;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
+import com.mjolkster.artifice.io.AssetCache;
 import com.mjolkster.artifice.util.geometry.Hitbox;
 import com.mjolkster.artifice.util.math.Dice;
 
@@ -67,7 +67,8 @@ public class AttackAction implements Action {
         this.hitEntities = new HashSet<>();
 
         this.frameHitboxes = frameHitboxes;
-        this.atlas = new TextureAtlas(Gdx.files.internal(atlasPath));
+        // Attacks are registered once and share their atlases, so this hold lasts for the session
+        this.atlas = AssetCache.acquire(atlasPath, TextureAtlas.class);
         this.region = atlas.findRegion(atlasRegion);
 
         TextureRegion[] tmp = region.split(
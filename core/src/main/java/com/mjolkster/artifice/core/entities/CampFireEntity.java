@@ -26,7 +26,7 @@ public class CampFireEntity extends Entity {
 
     @Override
     public void update(float delta, com.badlogic.gdx.graphics.OrthographicCamera camera,
-                       java.util.Set<com.mjolkster.artifice.util.geometry.Line> collisionBoxes) {
+                       com.mjolkster.artifice.util.geometry.SegmentBuffer collisionBoxes) {
         super.update(delta, camera, collisionBoxes);
 
         // flicker effect
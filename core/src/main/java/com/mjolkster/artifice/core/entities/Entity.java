@@ -5,10 +5,9 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector3;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 import com.mjolkster.artifice.util.combat.DamageIndicatorManager;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
 import com.mjolkster.artifice.util.graphics.Sprite;
-import com.mjolkster.artifice.util.geometry.Line;
 
-import java.util.Set;
 
 /**
  * An abstract Entity that gives basic utility to {@link com.mjolkster.artifice.core.entities.PlayableCharacter Player} and {@link com.mjolkster.artifice.core.entities.enemy.BaseEnemy BaseEnemy}
@@ -79,7 +78,14 @@ public abstract class Entity {
         sprite.draw(batch, x, y);
     }
 
-    public void update(float delta, OrthographicCamera camera, Set<Line> collisionBoxes) {
+    public void update(float delta, OrthographicCamera camera, SegmentBuffer collisionBoxes) {
         sprite.update(delta);
     }
+
+    /**
+     * Frees the entity's graphics once it has left the level
+     */
+    public void dispose() {
+        if (sprite != null) sprite.dispose();
+    }
 }
@@ -24,13 +24,13 @@ import com.mjolkster.artifice.graphics.screen.GameScreen;
 import com.mjolkster.artifice.util.combat.DamageIndicatorManager;
 import com.mjolkster.artifice.util.geometry.Hitbox;
 import com.mjolkster.artifice.core.items.Inventory;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
 import com.mjolkster.artifice.util.graphics.Sprite;
-import com.mjolkster.artifice.util.geometry.Line;
+import com.mjolkster.artifice.util.graphics.SpriteDefinition;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 public class PlayableCharacter extends Entity {
 
@@ -75,7 +75,7 @@ public class PlayableCharacter extends Entity {
             a.armorClass,
             a.moveDistance,
             a.actionPoints,
-            new Sprite("SpriteSheet.png", 8, 5, 0.1f),
+            new Sprite(SpriteDefinition.acquire("SpriteSheet.png", 8, 5, 0.1f, PlayableCharacter::defineSprite)),
             gameScreen
         );
 
@@ -93,8 +93,6 @@ public class PlayableCharacter extends Entity {
 
         this.inputHandler = inputHandler;
 
-        createHitboxes();
-
         FileHandler.CreateNewSave(this, 0, 0);
     }
 
@@ -117,7 +115,7 @@ public class PlayableCharacter extends Entity {
             a.armorClass,
             a.moveDistance,
             a.actionPoints,
-            new Sprite("SpriteSheet.png", 8, 5, 0.1f),
+            new Sprite(SpriteDefinition.acquire("SpriteSheet.png", 8, 5, 0.1f, PlayableCharacter::defineSprite)),
             gameScreen
         );
 
@@ -139,8 +137,6 @@ public class PlayableCharacter extends Entity {
         this.slotNumber = slotNumber;
 
         this.inputHandler = inputHandler;
-
-        createHitboxes();
     }
 
     public Context getContext() {
@@ -276,7 +272,7 @@ public class PlayableCharacter extends Entity {
 
     // Update Loop
     @Override
-    public void update(float delta, OrthographicCamera camera, Set<Line> collisionBoxes) {
+    public void update(float delta, OrthographicCamera camera, SegmentBuffer collisionBoxes) {
 
         this.collisionBox = this.sprite.getHitbox();
         if (collisionBox != null) {
@@ -311,7 +307,7 @@ public class PlayableCharacter extends Entity {
         }
     }
 
-    private void updateAttackState(float delta, Set<Line> collisionBoxes) {
+    private void updateAttackState(float delta, SegmentBuffer collisionBoxes) {
         attackTimer += delta;
 
         if (currentAttack != null) {
@@ -326,15 +322,12 @@ public class PlayableCharacter extends Entity {
             x += stepX;
             collisionBox.translate(stepX, 0);
 
-            for (Line line : collisionBoxes) {
-                if (collisionBox.overlaps(line)) {
-                    x = oldX;
-                    collisionBox.translate(-stepX, 0);
+            if (collisionBox.overlaps(collisionBoxes)) {
+                x = oldX;
+                collisionBox.translate(-stepX, 0);
 
-                    dashing = false;
-                    dashVelX = 0f;
-                    break;
-                }
+                dashing = false;
+                dashVelX = 0f;
             }
 
             if (dashTimer >= dashDuration) {
@@ -349,7 +342,7 @@ public class PlayableCharacter extends Entity {
         }
     }
 
-    public void handleInput(float delta, Set<Line> collisionBoxes, OrthographicCamera camera) {
+    public void handleInput(float delta, SegmentBuffer collisionBoxes, OrthographicCamera camera) {
         inputHandler.update(inputState, delta);
 
         // Movement
@@ -433,7 +426,7 @@ public class PlayableCharacter extends Entity {
         currentAttack.execute(this, null, this.gameScreen);
     }
 
-    private void handleMovement(float moveX, float moveY, float originalX, float originalY, Set<Line> collisionBoxes) {
+    private void handleMovement(float moveX, float moveY, float originalX, float originalY, SegmentBuffer collisionBoxes) {
         float dx = moveX;
         float dy = moveY;
 
@@ -537,39 +530,34 @@ public class PlayableCharacter extends Entity {
         } else sprite.draw(batch, x, y);
     }
 
-    public void createHitboxes() {
+    private static void defineSprite(SpriteDefinition definition) {
 
-        this.sprite.setHitbox(Sprite.Direction.UP, new Hitbox(new Rectangle(11f/32f, 2f/32f, 10f/32f, 17f/32f)));
-        this.sprite.setHitbox(Sprite.Direction.DOWN, new Hitbox(new Rectangle(11f/32f, 2f/32f, 10f/32f, 15f/32f)));
+        definition.setHitbox(Sprite.Direction.UP, new Hitbox(new Rectangle(11f/32f, 2f/32f, 10f/32f, 17f/32f)));
+        definition.setHitbox(Sprite.Direction.DOWN, new Hitbox(new Rectangle(11f/32f, 2f/32f, 10f/32f, 15f/32f)));
 
-        this.sprite.setHitbox(Sprite.Direction.LEFT, new Hitbox(List.of(
+        definition.setHitbox(Sprite.Direction.LEFT, new Hitbox(List.of(
             new Rectangle( 4f/32f,  4f/32f, 24f/32f,  5f/32f),
             new Rectangle(9f/32f,  2f/32f,  5f/32f,  2f/32f),
             new Rectangle(21f/32f,  2f/32f,  7f/32f,  2f/32f),
             new Rectangle(16f/32f, 9f/32f, 10f/32f,  2f/32f)
         )));
 
-        this.sprite.setHitbox(Sprite.Direction.RIGHT, new Hitbox(List.of(
+        definition.setHitbox(Sprite.Direction.RIGHT, new Hitbox(List.of(
             new Rectangle( 4f/32f,  4f/32f, 24f/32f,  5f/32f),
             new Rectangle(18f/32f,  2f/32f,  5f/32f,  2f/32f),
             new Rectangle(4f/32f,  2f/32f,  7f/32f,  2f/32f),
             new Rectangle(6f/32f, 9f/32f, 10f/32f,  2f/32f)
         )));
 
-        this.sprite.setHitbox(Sprite.Direction.IDLE, new Hitbox(List.of(
+        definition.setHitbox(Sprite.Direction.IDLE, new Hitbox(List.of(
             new Rectangle( 13f/32f,  0f/32f, 10f/32f,  12f/32f),
             new Rectangle(17f/32f,  12f/32f,  6f/32f,  6f/32f),
             new Rectangle(18f/32f,  18f/32f,  8f/32f,  4f/32f)
         )));
     }
 
-    private boolean collides(Set<Line> collisionBoxes) {
-        if (collisionBoxes != null) {
-            for (Line line : collisionBoxes) {
-                if (collisionBox.overlaps(line)) return true;
-            }
-        }
-        return false;
+    private boolean collides(SegmentBuffer collisionBoxes) {
+        return collisionBoxes != null && collisionBox.overlaps(collisionBoxes);
     }
 
     public enum Context {
@@ -11,23 +11,23 @@ import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.core.world.ChestEntity;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 import com.mjolkster.artifice.util.geometry.Hitbox;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
+import com.mjolkster.artifice.util.graphics.EffectSystem;
 import com.mjolkster.artifice.util.graphics.Sprite;
-import com.mjolkster.artifice.util.ai.AStarPathfinder;
-import com.mjolkster.artifice.util.geometry.Line;
+import com.mjolkster.artifice.util.ai.FlowField;
+import com.mjolkster.artifice.util.ai.PathBuffer;
 import com.mjolkster.artifice.util.math.Gaussian;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
 
 // TODO add more enemies
 public abstract class BaseEnemy extends Entity {
 
     protected final PlayableCharacter target;
     protected Hitbox hitbox;
-    protected final AStarPathfinder pathfinder = new AStarPathfinder();
-    protected Queue<Vector2> currentPath = new LinkedList<>();
+    protected final PathBuffer currentPath = new PathBuffer();
+    protected FlowField flowField;
+    private final Vector2 nextPoint = new Vector2();
     protected float distanceTravelled = 0f;
     protected float blockTimer = 0f;
 
@@ -64,13 +64,14 @@ public abstract class BaseEnemy extends Entity {
     /**
      * Main update loop
      */
-    public void update(float delta, OrthographicCamera camera, Set<Line> collisionBoxes) {
+    public void update(float delta, OrthographicCamera camera, SegmentBuffer collisionBoxes) {
 
         this.hitbox = this.sprite.getHitbox();
 
         if (state == NPCState.ALIVE && health <= 0) {
             state = NPCState.DYING;
             deathTimer = 0f;
+            EffectSystem.spawn(EffectSystem.DEATH, this.x + 0.5f, this.y + 0.5f);
         }
 
         switch (state) {
@@ -90,7 +91,6 @@ public abstract class BaseEnemy extends Entity {
                 sprite.flashRed();
                 sprite.update(delta);
                 if (deathTimer >= 1f) state = NPCState.DEAD;
-                sprite.playDeathEffect(this.x + 0.5f, this.y + 0.5f);
                 break;
 
             case DEAD:
@@ -109,17 +109,21 @@ public abstract class BaseEnemy extends Entity {
      */
     protected abstract void damagePlayer(PlayableCharacter target);
 
+    /**
+     * Starts the enemy's turn toward the target
+     *
+     * @param flowField The field toward the target, computed once for every enemy by the
+     *                  {@link com.mjolkster.artifice.util.combat.TurnManager TurnManager}
+     */
+    public void recalculatePath(FlowField flowField) {
+        this.flowField = flowField;
+        recalculatePath();
+    }
+
     public void recalculatePath() {
-        Vector2 start = new Vector2(x, y);
-        Vector2 goal = new Vector2(
-            target.collisionBox.getBounds().x + target.collisionBox.getBounds().getWidth() / 2f,
-            target.collisionBox.getBounds().y + target.collisionBox.getBounds().getHeight() / 2f
-        );
-        Vector2 goalTile = new Vector2(Math.round(goal.x), Math.round(goal.y));
-
-        Queue<Vector2> proposedPath = pathfinder.createAStarPathfinder(start, goalTile, gameScreen);
-        if (!proposedPath.isEmpty()) {
-            currentPath = proposedPath;
+        // Keeps the old path if there is no new one
+        if (flowField != null) {
+            flowField.findPath(x, y, currentPath);
         }
         currentPath.poll();
         distanceTravelled = 0f;
@@ -128,7 +132,7 @@ public abstract class BaseEnemy extends Entity {
 
     public void followPath(float delta) {
 
-        if ((currentPath == null || currentPath.isEmpty() || distanceTravelled >= moveDistance)) {
+        if (currentPath.isEmpty() || distanceTravelled >= moveDistance) {
             if (this instanceof WaspEnemy) {
                 hasCompletedTurn = ((WaspEnemy) this).hasFinishedAttack;
             } else hasCompletedTurn = true;
@@ -136,8 +140,7 @@ public abstract class BaseEnemy extends Entity {
         }
 
         float moveSpeed = 1.5f;
-        Vector2 nextPoint = currentPath.peek();
-        Vector2 targetPos = new Vector2(nextPoint.x, nextPoint.y);
+        Vector2 targetPos = nextPoint.set(currentPath.peekX(), currentPath.peekY());
 
         boolean blocked = isBlocked(targetPos);
 
@@ -232,14 +235,14 @@ public abstract class BaseEnemy extends Entity {
      * Debug feature for checking the pathing is correct
      */
     public void drawPath(ShapeRenderer shapeRenderer) {
-        if (currentPath == null || currentPath.isEmpty()) return;
+        if (currentPath.isEmpty()) return;
         float lastX = x + 0.5f;
         float lastY = y + 0.5f;
 
-        for (Vector2 point : currentPath) {
-            shapeRenderer.line(lastX, lastY, point.x, point.y);
-            lastX = point.x;
-            lastY = point.y;
+        for (int i = 0; i < currentPath.remaining(); i++) {
+            shapeRenderer.line(lastX, lastY, currentPath.getX(i), currentPath.getY(i));
+            lastX = currentPath.getX(i);
+            lastY = currentPath.getY(i);
         }
     }
 
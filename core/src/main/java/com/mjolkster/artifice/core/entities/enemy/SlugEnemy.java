@@ -6,6 +6,7 @@ import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 import com.mjolkster.artifice.util.geometry.Hitbox;
 import com.mjolkster.artifice.util.graphics.Sprite;
+import com.mjolkster.artifice.util.graphics.SpriteDefinition;
 import com.mjolkster.artifice.util.math.Gaussian;
 
 import java.util.ArrayList;
@@ -17,25 +18,27 @@ import java.util.List;
 public class SlugEnemy extends BaseEnemy {
 
     public SlugEnemy(Vector2 spawnPoint, PlayableCharacter target, GameScreen gameScreen) {
-        super(spawnPoint, target, new Sprite("SlimeTest.png", 5, 5, 0.2f), (int) (10 + (Math.random() * 5)), 5f, gameScreen);
+        super(spawnPoint, target, new Sprite(SpriteDefinition.acquire("SlimeTest.png", 5, 5, 0.2f, SlugEnemy::defineSprite)),
+            (int) (10 + (Math.random() * 5)), 5f, gameScreen);
 
         this.sprite.setDirection(Sprite.Direction.IDLE);
+    }
 
-        this.sprite.setHitbox(Sprite.Direction.UP, new Hitbox(new Rectangle(11/32f, 3/32f, 8/32f, 21/32f)));
-        this.sprite.setHitbox(Sprite.Direction.DOWN, new Hitbox(new Rectangle(11/32f, 2/32f, 8/32f, 19/32f)));
-        this.sprite.setHitbox(Sprite.Direction.LEFT, new Hitbox(List.of(
+    private static void defineSprite(SpriteDefinition definition) {
+        definition.setHitbox(Sprite.Direction.UP, new Hitbox(new Rectangle(11/32f, 3/32f, 8/32f, 21/32f)));
+        definition.setHitbox(Sprite.Direction.DOWN, new Hitbox(new Rectangle(11/32f, 2/32f, 8/32f, 19/32f)));
+        definition.setHitbox(Sprite.Direction.LEFT, new Hitbox(List.of(
             new Rectangle( 4f/32f,  9f/32f, 8f/32f,  7f/32f),
             new Rectangle(5f/32f,  1f/32f,  20f/32f,  8f/32f)
         )));
-        this.sprite.setHitbox(Sprite.Direction.RIGHT, new Hitbox(List.of(
+        definition.setHitbox(Sprite.Direction.RIGHT, new Hitbox(List.of(
             new Rectangle( 20f/32f,  9f/32f, 8f/32f,  7f/32f),
             new Rectangle(7f/32f,  1f/32f,  20f/32f,  8f/32f)
         )));
-        this.sprite.setHitbox(Sprite.Direction.IDLE, new Hitbox(List.of(
+        definition.setHitbox(Sprite.Direction.IDLE, new Hitbox(List.of(
             new Rectangle( 20f/32f,  9f/32f, 8f/32f,  7f/32f),
             new Rectangle(7f/32f,  1f/32f,  20f/32f,  8f/32f)
         )));
-
     }
 
     public static ArrayList<Gaussian> getGaussians() {
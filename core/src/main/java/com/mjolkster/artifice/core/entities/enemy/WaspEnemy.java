@@ -1,7 +1,6 @@
 package com.mjolkster.artifice.core.entities.enemy;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -9,6 +8,7 @@ import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 import com.mjolkster.artifice.util.geometry.Hitbox;
 import com.mjolkster.artifice.util.graphics.Sprite;
+import com.mjolkster.artifice.util.graphics.SpriteDefinition;
 import com.mjolkster.artifice.util.math.Dice;
 import com.mjolkster.artifice.util.math.Gaussian;
 
@@ -33,23 +33,11 @@ public class WaspEnemy extends BaseEnemy {
     private final Dice dice;
 
     public WaspEnemy(Vector2 spawnPoint, PlayableCharacter target, GameScreen gameScreen) {
-        super(spawnPoint, target, new Sprite("wasp.png", 5, 6, 0.1f),
+        super(spawnPoint, target, new Sprite(SpriteDefinition.acquire("wasp.png", 5, 6, 0.1f, WaspEnemy::defineSprite)),
             (int) (10 + Math.random() * 5), 10f, gameScreen);
 
-        TextureRegion[][] waspFrames = TextureRegion.split(new Texture("wasp.png"), 32, 64);
-
-        sprite.addAnimation("ready", waspFrames[0], 0.1f, false);
-        sprite.addAnimation("dive", waspFrames[4], 0.1f, false);
-        sprite.addAnimation("reset", waspFrames[1], 0.1f, false);
-        sprite.addAnimation("wait", waspFrames[5], 0.1f, false);
         sprite.setDirection(Sprite.Direction.LEFT);
 
-        sprite.setHitbox(Sprite.Direction.UP, new Hitbox(new Rectangle()));
-        sprite.setHitbox(Sprite.Direction.DOWN, new Hitbox(new Rectangle()));
-        sprite.setHitbox(Sprite.Direction.LEFT, new Hitbox(new Rectangle(13f/32f, 4f/32f, 14f/32f, 42f/32f)));
-        sprite.setHitbox(Sprite.Direction.RIGHT, new Hitbox(new Rectangle(13f/32f, 4f/32f, 14f/32f, 42f/32f)));
-        sprite.setHitbox(Sprite.Direction.IDLE, new Hitbox(new Rectangle(10f/32f, 5f/32f, 17f/32f, 16f/32f)));
-
         this.dice = new Dice("2 - 4 - 0");
         // Start in TRACK state
         changeState(WaspState.TRACK);
@@ -65,6 +53,24 @@ public class WaspEnemy extends BaseEnemy {
         return gaussians;
     }
 
+    /**
+     * The attack animations are laid out on the same sheet in 32x64 frames
+     */
+    private static void defineSprite(SpriteDefinition definition) {
+        TextureRegion[][] waspFrames = TextureRegion.split(definition.getTexture(), 32, 64);
+
+        definition.addAnimation("ready", waspFrames[0], 0.1f, false);
+        definition.addAnimation("dive", waspFrames[4], 0.1f, false);
+        definition.addAnimation("reset", waspFrames[1], 0.1f, false);
+        definition.addAnimation("wait", waspFrames[5], 0.1f, false);
+
+        definition.setHitbox(Sprite.Direction.UP, new Hitbox(new Rectangle()));
+        definition.setHitbox(Sprite.Direction.DOWN, new Hitbox(new Rectangle()));
+        definition.setHitbox(Sprite.Direction.LEFT, new Hitbox(new Rectangle(13f/32f, 4f/32f, 14f/32f, 42f/32f)));
+        definition.setHitbox(Sprite.Direction.RIGHT, new Hitbox(new Rectangle(13f/32f, 4f/32f, 14f/32f, 42f/32f)));
+        definition.setHitbox(Sprite.Direction.IDLE, new Hitbox(new Rectangle(10f/32f, 5f/32f, 17f/32f, 16f/32f)));
+    }
+
     @Override
     public void performAction() {
         // Ensure animation progresses
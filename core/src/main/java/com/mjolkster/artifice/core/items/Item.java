@@ -1,9 +1,10 @@
 package com.mjolkster.artifice.core.items;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
+import com.mjolkster.artifice.io.AssetCache;
+import com.mjolkster.artifice.io.AssetManifest;
 import com.mjolkster.artifice.util.data.ItemLocalization;
 import com.mjolkster.artifice.util.data.Pair;
 
@@ -13,7 +14,8 @@ import com.mjolkster.artifice.util.data.Pair;
 
 public abstract class Item {
 
-    private static final TextureAtlas atlas = new TextureAtlas(Gdx.files.internal("items.atlas"));
+    // Preloaded by the manifest, this hold lasts for the session
+    private static final TextureAtlas atlas = AssetCache.acquire(AssetManifest.ITEMS_ATLAS, TextureAtlas.class);
     TextureRegion itemTexture;
     String displayName;
     String itemName;
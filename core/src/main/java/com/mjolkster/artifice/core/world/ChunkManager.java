@@ -0,0 +1,270 @@
+package com.mjolkster.artifice.core.world;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.ChunkData;
+import com.mjolkster.artifice.core.world.generation.ChunkGenerator;
+import com.mjolkster.artifice.core.world.generation.SeedStreams;
+import com.mjolkster.artifice.core.world.generation.TiledMapBuilder;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.GameMap GameMap}
+ * Streams the chunks of a chunked world in and out around the player. Chunks within {@link #LOAD_RADIUS} are
+ * generated on a worker pool and merged into the map, nav grid, physics world and collision segments on the render
+ * thread; chunks beyond {@link #EVICT_RADIUS} have all of that removed again.
+ */
+public class ChunkManager {
+
+    private static final int LOAD_RADIUS = 2;
+    private static final int EVICT_RADIUS = 3;
+
+    // Spreads the Box2D and tile work of a burst of finished chunks over several frames
+    private static final int MAX_MERGES_PER_FRAME = 2;
+
+    private final ChunkGenerator generator;
+    private final TiledMap map;
+    private final ByteGrid navGrid;
+    private final World world;
+    private final SegmentBuffer segments;
+    private final ExecutorService workers;
+
+    private final Map<Long, Future<ChunkData>> pending = new HashMap<>();
+    private final Map<Long, LoadedChunk> loaded = new HashMap<>();
+
+    private int centreX = Integer.MIN_VALUE;
+    private int centreY = Integer.MIN_VALUE;
+
+    public ChunkManager(GameMap gameMap, ChunkGenerator generator) {
+        this(generator, gameMap.getMap(), gameMap.getNavGrid(), gameMap.getWorld(), gameMap.getCollisionBoxes());
+    }
+
+    /**
+     * Streams into the parts of a world directly rather than a {@link GameMap}, so tools can run it without graphics
+     *
+     * @param map      Receives the chunks' tiles, or null to skip them
+     * @param navGrid  The whole world's nav grid, cells are blocked while their chunk isn't loaded
+     * @param world    Receives a static body per collision outline
+     * @param segments Receives the loaded chunks' collision segments
+     */
+    public ChunkManager(ChunkGenerator generator, TiledMap map, ByteGrid navGrid, World world,
+                        SegmentBuffer segments) {
+        this.generator = generator;
+        this.map = map;
+        this.navGrid = navGrid;
+        this.world = world;
+        this.segments = segments;
+
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ChunkWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues chunks near the position, evicts far ones and merges finished ones.
+     * The chunk under the position is waited for, so the player never stands in an empty chunk.
+     *
+     * @param x Position in tiles
+     * @param y Position in tiles
+     */
+    public void update(float x, float y) {
+        int chunkX = clamp((int) Math.floor(x / ChunkGenerator.CHUNK_SIZE), generator.getChunksWide());
+        int chunkY = clamp((int) Math.floor(y / ChunkGenerator.CHUNK_SIZE), generator.getChunksHigh());
+
+        if (chunkX != centreX || chunkY != centreY) {
+            centreX = chunkX;
+            centreY = chunkY;
+            evictFarChunks();
+            requestNearChunks();
+        }
+
+        Future<ChunkData> current = pending.remove(key(chunkX, chunkY));
+        if (current != null) {
+            merge(current);
+        }
+
+        int merges = 0;
+        Iterator<Future<ChunkData>> iterator = pending.values().iterator();
+        while (iterator.hasNext() && merges < MAX_MERGES_PER_FRAME) {
+            Future<ChunkData> future = iterator.next();
+            if (future.isDone()) {
+                iterator.remove();
+                merge(future);
+                merges++;
+            }
+        }
+    }
+
+    public void dispose() {
+        workers.shutdownNow();
+        pending.clear();
+        loaded.clear();
+    }
+
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Chunks requested but not merged yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    // Nearest rings first, so the executor's queue order matches how soon each chunk is needed
+    private void requestNearChunks() {
+        for (int ring = 0; ring <= LOAD_RADIUS; ring++) {
+            for (int dy = -ring; dy <= ring; dy++) {
+                for (int dx = -ring; dx <= ring; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != ring) continue;
+                    request(centreX + dx, centreY + dy);
+                }
+            }
+        }
+    }
+
+    private void request(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= generator.getChunksWide() || chunkY >= generator.getChunksHigh()) {
+            return;
+        }
+
+        long key = key(chunkX, chunkY);
+        if (loaded.containsKey(key) || pending.containsKey(key)) return;
+
+        pending.put(key, workers.submit(() -> generator.generate(chunkX, chunkY)));
+    }
+
+    private void evictFarChunks() {
+        Iterator<Map.Entry<Long, Future<ChunkData>>> queued = pending.entrySet().iterator();
+        while (queued.hasNext()) {
+            Map.Entry<Long, Future<ChunkData>> entry = queued.next();
+            if (isFar(chunkXOf(entry.getKey()), chunkYOf(entry.getKey()))) {
+                entry.getValue().cancel(false);
+                queued.remove();
+            }
+        }
+
+        boolean evicted = false;
+        Iterator<LoadedChunk> chunks = loaded.values().iterator();
+        while (chunks.hasNext()) {
+            LoadedChunk chunk = chunks.next();
+            if (isFar(chunk.data.getChunkX(), chunk.data.getChunkY())) {
+                unload(chunk);
+                chunks.remove();
+                evicted = true;
+            }
+        }
+
+        if (evicted) {
+            rebuildSegments();
+        }
+    }
+
+    private boolean isFar(int chunkX, int chunkY) {
+        return Math.max(Math.abs(chunkX - centreX), Math.abs(chunkY - centreY)) > EVICT_RADIUS;
+    }
+
+    private void merge(Future<ChunkData> future) {
+        ChunkData data;
+        try {
+            data = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            Gdx.app.error("ChunkManager", "Chunk generation failed", e.getCause());
+            return;
+        }
+
+        if (map != null) {
+            TiledMapBuilder.addChunk(map, data, SeedStreams.forChunk(generator.getSeed(),
+                SeedStreams.Stage.DECORATION, data.getChunkX(), data.getChunkY()));
+        }
+        copyNav(data.getNavGrid());
+
+        List<Body> bodies = GameMap.createBodiesFromPolygons(world, data.getCollisionOutlines());
+        SegmentBuffer chunkSegments = SegmentBuffer.of(data.getCollisionOutlines());
+        segments.addAll(chunkSegments);
+
+        loaded.put(key(data.getChunkX(), data.getChunkY()), new LoadedChunk(data, bodies, chunkSegments));
+    }
+
+    private void unload(LoadedChunk chunk) {
+        if (map != null) {
+            TiledMapBuilder.removeChunk(map, chunk.data);
+        }
+
+        ByteGrid chunkNav = chunk.data.getNavGrid();
+        for (int y = chunkNav.getMinY(); y <= chunkNav.getMaxY(); y++) {
+            for (int x = chunkNav.getMinX(); x <= chunkNav.getMaxX(); x++) {
+                navGrid.set(x, y, 1);
+            }
+        }
+
+        for (Body body : chunk.bodies) {
+            world.destroyBody(body);
+        }
+    }
+
+    /**
+     * The map's segments are one flat buffer, so evicting refills it from the chunks still loaded
+     */
+    private void rebuildSegments() {
+        segments.clear();
+        for (LoadedChunk chunk : loaded.values()) {
+            segments.addAll(chunk.segments);
+        }
+    }
+
+    private void copyNav(ByteGrid chunkNav) {
+        byte[] row = new byte[chunkNav.getWidth()];
+        for (int y = chunkNav.getMinY(); y <= chunkNav.getMaxY(); y++) {
+            chunkNav.copyRow(y, row);
+            System.arraycopy(row, 0, navGrid.getCells(), navGrid.index(chunkNav.getMinX(), y), row.length);
+        }
+    }
+
+    private static int clamp(int chunk, int chunks) {
+        return Math.max(0, Math.min(chunks - 1, chunk));
+    }
+
+    private static long key(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    private static int chunkXOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int chunkYOf(long key) {
+        return (int) key;
+    }
+
+    private static class LoadedChunk {
+        final ChunkData data;
+        final List<Body> bodies;
+        final SegmentBuffer segments;
+
+        LoadedChunk(ChunkData data, List<Body> bodies, SegmentBuffer segments) {
+            this.data = data;
+            this.bodies = bodies;
+            this.segments = segments;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.mjolkster.artifice.core.entities.enemy.BaseEnemy;
 import com.mjolkster.artifice.core.entities.enemy.SlugEnemy;
 import com.mjolkster.artifice.core.entities.enemy.WaspEnemy;
 import com.mjolkster.artifice.core.items.Inventory;
+import com.mjolkster.artifice.core.world.generation.SeedStreams;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 import com.mjolkster.artifice.graphics.screen.SublevelScreen;
 import com.mjolkster.artifice.io.FileHandler;
@@ -21,14 +22,14 @@ import com.mjolkster.artifice.io.input.InputHandler;
 import com.mjolkster.artifice.registry.registries.ItemRegistry;
 import com.mjolkster.artifice.util.combat.TurnManager;
 import com.mjolkster.artifice.util.geometry.EndPoint;
-import com.mjolkster.artifice.util.geometry.Line;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
+import com.mjolkster.artifice.util.graphics.EffectSystem;
 import com.mjolkster.artifice.util.math.CalculateGaussians;
 import com.mjolkster.artifice.util.math.Gaussian;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * A helper class for {@link com.mjolkster.artifice.core.world.GameMap GameMap}
@@ -92,7 +93,7 @@ public class EntityManager {
             spawnNPCs(spawnableAreas, player.roundsPassed);
         }
 
-        turnManager = new TurnManager(player, NPCs);
+        turnManager = new TurnManager(player, NPCs, map);
 
         endPoint = new EndPoint(gameScreen.getGameMap().getEndPointPosition(), gameScreen);
 
@@ -100,7 +101,7 @@ public class EntityManager {
 
     }
 
-    public void update(float delta, OrthographicCamera camera, Set<Line> collisionBoxes) {
+    public void update(float delta, OrthographicCamera camera, SegmentBuffer collisionBoxes) {
         turnManager.update(delta);
         player.update(delta, camera, collisionBoxes);
         endPoint.update(delta);
@@ -114,6 +115,7 @@ public class EntityManager {
             }
         });
         NPCs.removeAll(deadNPCs);
+        deadNPCs.forEach(BaseEnemy::dispose);
 
         if (NPCs.isEmpty()) endPoint.open();
 
@@ -123,9 +125,10 @@ public class EntityManager {
         });
 
         campfires.forEach(campfire -> campfire.update(delta, camera, collisionBoxes));
+        EffectSystem.update(delta);
     }
 
-    public void updateOnlyChests(float delta, OrthographicCamera camera, Set<Line> collisionBoxes) {
+    public void updateOnlyChests(float delta, OrthographicCamera camera, SegmentBuffer collisionBoxes) {
         chests.forEach(chest -> {
             chest.update(delta, camera, collisionBoxes);
             chest.checkForOpen(camera);
@@ -140,7 +143,7 @@ public class EntityManager {
         chests.forEach(chest -> chest.draw(batch));
         campfires.forEach(campfire -> campfire.draw(batch));
         player.draw(batch);
-
+        EffectSystem.draw(batch);
     }
 
     public void renderHitboxes(ShapeRenderer shape) {
@@ -168,17 +171,18 @@ public class EntityManager {
         ArrayList<Gaussian> slugGaussians = SlugEnemy.getGaussians();
         ArrayList<Gaussian> waspGaussians = WaspEnemy.getGaussians();
 
-        Collections.shuffle(spawnableAreas);
+        SplittableRandom spawns = SeedStreams.forStage(gameScreen.getSeed(), SeedStreams.Stage.SPAWNS);
+        SeedStreams.shuffle(spawnableAreas, spawns);
         for (int i = 0; i < Math.min(CalculateGaussians.calculateMultiGaussian(slugGaussians, roundsPassed), spawnableAreas.size()); i++) {
             NPCs.add(new SlugEnemy(spawnableAreas.get(i), player, gameScreen));
         }
 
-        Collections.shuffle(spawnableAreas);
+        SeedStreams.shuffle(spawnableAreas, spawns);
         for (int i = 0; i < Math.min(CalculateGaussians.calculateMultiGaussian(waspGaussians, roundsPassed), spawnableAreas.size()); i++) {
             NPCs.add(new WaspEnemy(spawnableAreas.get(i), player, gameScreen));
         }
 
-        Collections.shuffle(spawnableAreas);
+        SeedStreams.shuffle(spawnableAreas, spawns);
         for (int j = 0; j < 5; j++) {
             CampFireEntity campFire = new CampFireEntity(gameScreen, gameScreen.getGameMap().getRayHandler());
             campFire.setPosition(spawnableAreas.get(j));
@@ -207,6 +211,13 @@ public class EntityManager {
     }
 
     public void dispose() {
+        NPCs.forEach(BaseEnemy::dispose);
+        chests.forEach(ChestEntity::dispose);
+        campfires.forEach(CampFireEntity::dispose);
+        player.dispose();
+        endPoint.dispose();
+        EffectSystem.clear();
+
         NPCs.clear();
         chests.clear();
         campfires.clear();
@@ -10,13 +10,17 @@ import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
-import com.mjolkster.artifice.core.world.generation.LineHandler;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.ChunkGenerator;
+import com.mjolkster.artifice.core.world.generation.LevelData;
 import com.mjolkster.artifice.core.world.generation.MapGenerator;
-import com.mjolkster.artifice.util.geometry.Line;
+import com.mjolkster.artifice.core.world.generation.TileLookup;
+import com.mjolkster.artifice.core.world.generation.TiledMapBuilder;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * A director for all the elements of the dungeons, including map, lighting, entity management
@@ -27,45 +31,110 @@ public class GameMap {
     private final OrthogonalTiledMapRenderer renderer;
     private final World world;
     private final RayHandler rayHandler;
-    private final Set<Line> collisionBoxes;
+    private final SegmentBuffer collisionBoxes;
     private final Vector2 spawnpoint;
     private final Vector2 endPointPosition;
     private final List<Vector2> spawnableAreas;
-    private final MapGenerator mapGenerator;
+    private final LevelData levelData;
     private final PointLight playerLight;
+    private final int width;
+    private final int height;
+    private final ByteGrid navGrid;
+    private final ChunkManager chunks;
+
+    /**
+     * Builds the map from already generated level data, see {@link MapGenerator#generateLevel(long, boolean)}
+     */
+    public GameMap(LevelData levelData) {
+        this.levelData = levelData;
+        this.chunks = null;
+        this.width = levelData.getWidth();
+        this.height = levelData.getHeight();
+        this.navGrid = levelData.getNavGrid();
+        this.map = TiledMapBuilder.build(levelData);
+
+        this.spawnpoint = levelData.getSpawnPoint();
+        this.endPointPosition = levelData.getEndPoint();
+        this.spawnableAreas = levelData.getSpawnableAreas();
 
-    public GameMap(long seed, boolean boss) {
-        this.mapGenerator = new MapGenerator(32, 32, seed);
+        this.renderer = new OrthogonalTiledMapRenderer(map, 1f / 32f);
 
-        if (boss) {
-            this.map = mapGenerator.generate(32, 32, 6);
-        } else {
-            this.map = mapGenerator.generate(24, 24, 6);
-        }
+        this.world = new World(new Vector2(0, -9.8f), true);
+        this.rayHandler = createRayHandler(world);
+        this.playerLight = createPlayerLight(rayHandler);
+
+        this.collisionBoxes = levelData.getCollisionSegments();
+        createBodiesFromPolygons(world, levelData.getCollisionOutlines());
 
-        this.spawnpoint = mapGenerator.getSpawnPoint();
-        this.endPointPosition = mapGenerator.getEndPoint();
-        this.spawnableAreas = mapGenerator.getSpawnableAreas();
+        Gdx.app.log("GameMap", "Initialisation complete");
+    }
+
+    /**
+     * Builds an empty chunked world, whose chunks are generated around the player as {@link #update} is called.
+     * There is no {@link LevelData} in this mode, and tiles, nav and collision only exist near the player. The tile
+     * layers and nav grid are still allocated at the size of the whole world, a cell reference or a byte per tile, so
+     * only what fills them is bounded by the loaded chunks.
+     *
+     * @param seed       The seed for generation
+     * @param chunksWide Width of the world in chunks
+     * @param chunksHigh Height of the world in chunks
+     */
+    public GameMap(long seed, int chunksWide, int chunksHigh) {
+        ChunkGenerator generator = new ChunkGenerator(seed, chunksWide, chunksHigh);
+
+        this.levelData = null;
+        this.width = generator.getWidth();
+        this.height = generator.getHeight();
+        this.map = TiledMapBuilder.buildChunked(width, height);
+
+        // Blocked until the chunk covering each cell is loaded
+        this.navGrid = new ByteGrid(0, 0, width, height);
+        this.navGrid.fill(1);
+
+        this.spawnpoint = generator.getSpawnPoint(32, 32);
+        this.endPointPosition = generator.getEndPoint(32, 32);
+        this.spawnableAreas = generator.getSpawnableAreas(32, 32);
 
         this.renderer = new OrthogonalTiledMapRenderer(map, 1f / 32f);
 
         this.world = new World(new Vector2(0, -9.8f), true);
-        this.rayHandler = new RayHandler(world);
-        this.rayHandler.setAmbientLight(0.0f);
-        this.rayHandler.setBlur(true);
-        this.rayHandler.setCulling(true);
+        this.rayHandler = createRayHandler(world);
+        this.playerLight = createPlayerLight(rayHandler);
+
+        this.collisionBoxes = new SegmentBuffer();
+        this.chunks = new ChunkManager(this, generator);
+        chunks.update(spawnpoint.x / 32f, spawnpoint.y / 32f);
 
-        this.playerLight = new PointLight(rayHandler, 300);
-        this.playerLight.setColor(Color.GOLDENROD);
-        this.playerLight.setDistance(5f);
-        this.playerLight.setSoft(true);
-        this.playerLight.setSoftnessLength(0.5f);
+        Gdx.app.log("GameMap", "Chunked initialisation complete, " + chunksWide + "x" + chunksHigh + " chunks");
+    }
 
-        this.collisionBoxes = mapGenerator.getCollisionLines();
-        List<List<Vector2>> outlines = LineHandler.orderOutline(collisionBoxes);
-        createBodiesFromPolygons(world, outlines);
+    private static RayHandler createRayHandler(World world) {
+        RayHandler rayHandler = new RayHandler(world);
+        rayHandler.setAmbientLight(0.0f);
+        rayHandler.setBlur(true);
+        rayHandler.setCulling(true);
+        return rayHandler;
+    }
 
-        Gdx.app.log("GameMap", "Initialisation complete");
+    private static PointLight createPlayerLight(RayHandler rayHandler) {
+        PointLight playerLight = new PointLight(rayHandler, 300);
+        playerLight.setColor(Color.GOLDENROD);
+        playerLight.setDistance(5f);
+        playerLight.setSoft(true);
+        playerLight.setSoftnessLength(0.5f);
+        return playerLight;
+    }
+
+    /**
+     * Streams chunks in and out around the player in a chunked world, does nothing otherwise
+     *
+     * @param x Player position in tiles
+     * @param y Player position in tiles
+     */
+    public void update(float x, float y) {
+        if (chunks != null) {
+            chunks.update(x, y);
+        }
     }
 
     // Rendering
@@ -88,24 +157,34 @@ public class GameMap {
     }
 
     public void dispose() {
+        if (chunks != null) {
+            chunks.dispose();
+        }
         map.dispose();
+        TileLookup.release();
         renderer.dispose();
         rayHandler.dispose();
         world.dispose();
     }
 
     // Collision creation
-    public List<Body> createBodiesFromPolygons(World world, List<List<Vector2>> polygons) {
+    public static List<Body> createBodiesFromPolygons(World world, OutlineSet outlines) {
         List<Body> bodies = new ArrayList<>();
+        Vector2 current = new Vector2();
+        Vector2 next = new Vector2();
 
-        for (List<Vector2> loop : polygons) {
+        for (int outline = 0; outline < outlines.size(); outline++) {
             BodyDef bodyDef = new BodyDef();
             bodyDef.type = BodyDef.BodyType.StaticBody;
             Body body = world.createBody(bodyDef);
 
-            for (int i = 0; i < loop.size(); i++) {
-                Vector2 current = loop.get(i);
-                Vector2 next = loop.get((i + 1) % loop.size());
+            int points = outlines.pointCount(outline);
+
+            // Open outlines stop at their last point rather than jumping back to the first
+            for (int i = 0; i < outlines.segmentCount(outline); i++) {
+                int following = (i + 1) % points;
+                current.set(outlines.getX(outline, i), outlines.getY(outline, i));
+                next.set(outlines.getX(outline, following), outlines.getY(outline, following));
 
                 if (current.epsilonEquals(next, 0.001f)) {
                     continue;
@@ -133,10 +212,21 @@ public class GameMap {
     public TiledMap getMap() { return map; }
     public OrthogonalTiledMapRenderer getRenderer() { return renderer; }
     public RayHandler getRayHandler() { return rayHandler; }
-    public Set<Line> getCollisionBoxes() { return collisionBoxes; }
+    public SegmentBuffer getCollisionBoxes() { return collisionBoxes; }
     public World getWorld() { return world; }
     public Vector2 getPlayerSpawnpoint() { return spawnpoint; }
     public Vector2 getEndPointPosition() { return endPointPosition; }
     public List<Vector2> getSpawnableAreas() { return spawnableAreas; }
-    public MapGenerator getMapGenerator() { return mapGenerator; }
+    public LevelData getLevelData() { return levelData; }
+    public ByteGrid getNavGrid() { return navGrid; }
+
+    /**
+     * Width of the world in tiles
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Height of the world in tiles
+     */
+    public int getHeight() { return height; }
 }
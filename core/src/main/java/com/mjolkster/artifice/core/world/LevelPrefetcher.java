@@ -0,0 +1,102 @@
+package com.mjolkster.artifice.core.world;
+
+import com.badlogic.gdx.Gdx;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import com.mjolkster.artifice.core.world.generation.MapGenerator;
+import com.mjolkster.artifice.io.FileHandler;
+import com.mjolkster.artifice.io.LevelCache;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the next dungeon level on a worker thread while the current one is played,
+ * so that moving between levels only has to build the {@link GameMap}'s graphics and physics.
+ * Normal and boss levels are queued separately, so restarting into a normal level while a boss level waits
+ * doesn't fall back to generating on the render thread.
+ */
+public class LevelPrefetcher {
+
+    /**
+     * Seeds are drawn from [0, SEED_RANGE)
+     */
+    public static final long SEED_RANGE = 4000000;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LevelPrefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<LevelData> pendingLevel;
+    private Future<LevelData> pendingBossLevel;
+
+    /**
+     * Starts generating a level with a fresh seed, unless one of that kind is already queued
+     *
+     * @param boss Whether to queue a boss level
+     */
+    public synchronized void prefetch(boolean boss) {
+        if (boss ? pendingBossLevel != null : pendingLevel != null) return;
+
+        long seed = newSeed();
+        Future<LevelData> future = executor.submit(() -> MapGenerator.generateLevel(seed, boss));
+        if (boss) {
+            pendingBossLevel = future;
+        } else {
+            pendingLevel = future;
+        }
+    }
+
+    /**
+     * Takes the prefetched level of the kind asked for, waiting for it if it is still generating. Only generates on
+     * the calling thread if none was queued or its generation failed.
+     *
+     * @param boss Whether a boss level is needed
+     */
+    public synchronized LevelData take(boolean boss) {
+        Future<LevelData> future = boss ? pendingBossLevel : pendingLevel;
+        if (boss) {
+            pendingBossLevel = null;
+        } else {
+            pendingLevel = null;
+        }
+
+        if (future != null) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Gdx.app.error("LevelPrefetcher", "Background generation failed", e.getCause());
+            }
+        } else {
+            Gdx.app.log("LevelPrefetcher", "No " + (boss ? "boss " : "") + "level queued, generating now");
+        }
+
+        return MapGenerator.generateLevel(newSeed(), boss);
+    }
+
+    /**
+     * Stores a level a save resumes on in the {@link LevelCache} and prunes the levels no save points at any more, on
+     * the worker thread so the render thread doesn't wait on the disk
+     *
+     * @param level The saved level, or null when there is nothing to store, as for a chunked world
+     */
+    public void cacheSavedLevel(LevelData level) {
+        executor.submit(() -> {
+            if (level != null) LevelCache.store(level);
+            LevelCache.prune(FileHandler.getSavedSeeds());
+        });
+    }
+
+    public void dispose() {
+        executor.shutdownNow();
+    }
+
+    public static long newSeed() {
+        return (long) (Math.random() * SEED_RANGE);
+    }
+}
@@ -0,0 +1,291 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import java.util.Arrays;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.IslandManager IslandManager}
+ * A grid of single bits packed into longs, one row after another, so that morphology can work 64 cells at a time
+ * and connected components can be labelled without any per-cell allocation.
+ * Coordinates are columns and rows from 0, cells outside the grid count as clear.
+ */
+public class BitGrid {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final long[] words;
+
+    public BitGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+        this.words = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Creates a grid with the same shape as the byte grid, set wherever it holds the given value
+     */
+    public BitGrid(ByteGrid grid, int value) {
+        this(grid.getWidth(), grid.getHeight());
+
+        byte[] cells = grid.getCells();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == value) {
+                set(i % width, i / width);
+            }
+        }
+    }
+
+    /**
+     * Writes the grid back into a byte grid of the same shape
+     *
+     * @param setValue   The value to write where a bit is set
+     * @param clearValue The value to write where a bit is clear
+     */
+    public void copyTo(ByteGrid grid, int setValue, int clearValue) {
+        if (grid.getWidth() != width || grid.getHeight() != height) {
+            throw new IllegalArgumentException("Grid shapes differ: " + grid.getWidth() + "x" + grid.getHeight()
+                + " and " + width + "x" + height);
+        }
+
+        byte[] cells = grid.getCells();
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) (get(i % width, i / width) ? setValue : clearValue);
+        }
+    }
+
+    public boolean get(int col, int row) {
+        if (col < 0 || row < 0 || col >= width || row >= height) return false;
+        return (words[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    public void set(int col, int row) {
+        words[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+
+    public void clear(int col, int row) {
+        words[row * wordsPerRow + (col >>> 6)] &= ~(1L << col);
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+    // Morphology
+
+    /**
+     * Grows the set cells by one step in each cardinal direction, repeated the given number of times
+     */
+    public BitGrid dilate(int steps) {
+        BitGrid result = this;
+        for (int i = 0; i < steps; i++) result = result.step(true);
+        return result;
+    }
+
+    /**
+     * Shrinks the set cells, clearing any cell with a clear cardinal neighbour, repeated the given number of times
+     */
+    public BitGrid erode(int steps) {
+        BitGrid result = this;
+        for (int i = 0; i < steps; i++) result = result.step(false);
+        return result;
+    }
+
+    private BitGrid step(boolean dilate) {
+        BitGrid result = new BitGrid(width, height);
+
+        for (int row = 0; row < height; row++) {
+            int base = row * wordsPerRow;
+
+            for (int w = 0; w < wordsPerRow; w++) {
+                long centre = words[base + w];
+                long previous = w > 0 ? words[base + w - 1] : 0;
+                long next = w < wordsPerRow - 1 ? words[base + w + 1] : 0;
+
+                // Bit j of east holds cell j + 1, bit j of west holds cell j - 1
+                long east = (centre >>> 1) | (next << 63);
+                long west = (centre << 1) | (previous >>> 63);
+                long north = row < height - 1 ? words[base + wordsPerRow + w] : 0;
+                long south = row > 0 ? words[base - wordsPerRow + w] : 0;
+
+                long value = dilate
+                    ? centre | east | west | north | south
+                    : centre & east & west & north & south;
+
+                // Cells past the right edge stay clear
+                if (w == wordsPerRow - 1) value &= lastWordMask;
+                result.words[base + w] = value;
+            }
+        }
+
+        return result;
+    }
+
+    // Labelling
+
+    /**
+     * Labels the 4-connected components of set cells with a two pass union-find.
+     * Components are numbered in the order their first cell appears, row by row from the bottom.
+     */
+    public Components label() {
+        int[] labels = new int[width * height];
+        Arrays.fill(labels, Components.NONE);
+        int[] parent = new int[Math.max(1, (width * height + 1) / 2)];
+        int provisional = 0;
+
+        // First pass, provisional labels from the west and south neighbours
+        for (int row = 0; row < height; row++) {
+            int base = row * wordsPerRow;
+
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = words[base + w];
+
+                while (word != 0) {
+                    int col = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    int index = row * width + col;
+                    int west = col > 0 ? labels[index - 1] : Components.NONE;
+                    int south = row > 0 ? labels[index - width] : Components.NONE;
+
+                    if (west == Components.NONE && south == Components.NONE) {
+                        if (provisional == parent.length) {
+                            parent = Arrays.copyOf(parent, parent.length * 2);
+                        }
+                        parent[provisional] = provisional;
+                        labels[index] = provisional++;
+                    } else if (west == Components.NONE) {
+                        labels[index] = south;
+                    } else if (south == Components.NONE) {
+                        labels[index] = west;
+                    } else {
+                        labels[index] = union(parent, west, south);
+                    }
+                }
+            }
+        }
+
+        // Second pass, resolve to roots and renumber in order of appearance
+        int[] compact = new int[provisional];
+        Arrays.fill(compact, Components.NONE);
+        int[] sizes = new int[provisional];
+        int count = 0;
+
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == Components.NONE) continue;
+
+            int root = find(parent, labels[i]);
+            if (compact[root] == Components.NONE) {
+                compact[root] = count++;
+            }
+            labels[i] = compact[root];
+            sizes[labels[i]]++;
+        }
+
+        return new Components(width, labels, Arrays.copyOf(sizes, count), count);
+    }
+
+    /**
+     * Clears every component with fewer than the given number of cells
+     *
+     * @param components The labelling of this grid, from {@link #label()}
+     */
+    public void removeSmallComponents(Components components, int minSize) {
+        boolean[] remove = new boolean[components.getCount()];
+        boolean any = false;
+        for (int id = 0; id < remove.length; id++) {
+            remove[id] = components.getSize(id) < minSize;
+            any |= remove[id];
+        }
+        if (!any) return;
+
+        for (int row = 0; row < height; row++) {
+            int base = row * wordsPerRow;
+
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = words[base + w];
+                long keep = word;
+
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    if (remove[components.getLabel(((w << 6) + bit), row)]) {
+                        keep &= ~(1L << bit);
+                    }
+                }
+
+                words[base + w] = keep;
+            }
+        }
+    }
+
+    private static int find(int[] parent, int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+
+    private static int union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        // Keep the older label as the root so numbering stays stable
+        if (rootA < rootB) {
+            parent[rootB] = rootA;
+            return rootA;
+        }
+        parent[rootA] = rootB;
+        return rootB;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /**
+     * The result of {@link #label()}
+     */
+    public static class Components {
+
+        public static final int NONE = -1;
+
+        private final int width;
+        private final int[] labels;
+        private final int[] sizes;
+        private final int count;
+
+        Components(int width, int[] labels, int[] sizes, int count) {
+            this.width = width;
+            this.labels = labels;
+            this.sizes = sizes;
+            this.count = count;
+        }
+
+        /**
+         * The component id of a cell, {@link #NONE} for clear cells
+         */
+        public int getLabel(int col, int row) {
+            return labels[row * width + col];
+        }
+
+        public int getSize(int id) {
+            return sizes[id];
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Component ids for every cell, row by row from the bottom
+         */
+        public int[] getLabels() {
+            return labels;
+        }
+    }
+}
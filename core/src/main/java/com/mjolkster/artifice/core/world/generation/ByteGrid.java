@@ -0,0 +1,155 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import java.util.Arrays;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
+ * A dense, row-major grid of bytes with an arbitrary origin, used instead of a {@code HashMap<Point, Integer>}
+ * so that lookups during generation don't allocate keys
+ */
+public class ByteGrid {
+
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+
+    /**
+     * Creates an empty grid
+     *
+     * @param minX   The lowest x coordinate in the grid
+     * @param minY   The lowest y coordinate in the grid
+     * @param width  Number of columns
+     * @param height Number of rows
+     */
+    public ByteGrid(int minX, int minY, int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+    }
+
+    public ByteGrid(ByteGrid other) {
+        this(other.minX, other.minY, other.width, other.height);
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= minX && y >= minY && x < minX + width && y < minY + height;
+    }
+
+    /**
+     * Index of (x, y) in the backing array, no bounds checking
+     */
+    public int index(int x, int y) {
+        return (y - minY) * width + (x - minX);
+    }
+
+    public int xOf(int index) {
+        return index % width + minX;
+    }
+
+    public int yOf(int index) {
+        return index / width + minY;
+    }
+
+    public int get(int x, int y) {
+        checkBounds(x, y);
+        return cells[index(x, y)];
+    }
+
+    /**
+     * Returns the value at (x, y), or the fallback if (x, y) is outside the grid
+     */
+    public int getOrDefault(int x, int y, int fallback) {
+        return contains(x, y) ? cells[index(x, y)] : fallback;
+    }
+
+    public void set(int x, int y, int value) {
+        checkBounds(x, y);
+        cells[index(x, y)] = (byte) value;
+    }
+
+    public void fill(int value) {
+        Arrays.fill(cells, (byte) value);
+    }
+
+    /**
+     * Value of the neighbouring cell in the given direction, 0 if it falls outside the grid
+     */
+    public int neighbour(int x, int y, DirectionOfTravel direction) {
+        return getOrDefault(x + direction.dx, y + direction.dy, 0);
+    }
+
+    /**
+     * The marching squares state of the cell whose bottom-left vertex is (x, y).
+     * Vertices outside the grid count as 0.
+     */
+    public int stateAt(int x, int y) {
+        int bl = getOrDefault(x, y, 0);
+        int br = getOrDefault(x + 1, y, 0);
+        int tr = getOrDefault(x + 1, y + 1, 0);
+        int tl = getOrDefault(x, y + 1, 0);
+        return bl + (br << 1) + (tr << 2) + (tl << 3);
+    }
+
+    /**
+     * Visits every cell, row by row from the bottom
+     */
+    public void forEach(CellVisitor visitor) {
+        int i = 0;
+        for (int y = minY; y < minY + height; y++) {
+            for (int x = minX; x < minX + width; x++) {
+                visitor.visit(x, y, cells[i++]);
+            }
+        }
+    }
+
+    /**
+     * Copies row y into dst, which must hold at least {@link #getWidth()} bytes
+     */
+    public void copyRow(int y, byte[] dst) {
+        if (y < minY || y >= minY + height) {
+            throw new IndexOutOfBoundsException("Row " + y + " outside grid");
+        }
+        System.arraycopy(cells, (y - minY) * width, dst, 0, width);
+    }
+
+    public int count(int value) {
+        int count = 0;
+        for (byte cell : cells) {
+            if (cell == value) count++;
+        }
+        return count;
+    }
+
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMaxX() { return minX + width - 1; }
+    public int getMaxY() { return minY + height - 1; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /**
+     * The backing array, row-major from (minX, minY)
+     */
+    public byte[] getCells() {
+        return cells;
+    }
+
+    private void checkBounds(int x, int y) {
+        if (!contains(x, y)) {
+            throw new IndexOutOfBoundsException("(" + x + ", " + y + ") outside grid ["
+                + minX + ".." + getMaxX() + ", " + minY + ".." + getMaxY() + "]");
+        }
+    }
+
+    public interface CellVisitor {
+        void visit(int x, int y, int value);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+
+/**
+ * One square chunk of a chunked world, the output of {@link MapGenerator#generateChunk}.
+ * Pure data in world tile coordinates, so it can be generated on a worker thread and merged into the map later.
+ */
+public class ChunkData {
+
+    private final int chunkX;
+    private final int chunkY;
+    private final ByteGrid tileStates;
+    private final ByteGrid navGrid;
+    private final ByteGrid mossMask;
+    private final OutlineSet collisionOutlines;
+
+    /**
+     * @param chunkX            Chunk column
+     * @param chunkY            Chunk row
+     * @param tileStates        The marching squares state of each cell in the chunk
+     * @param navGrid           0 for walkable cells, 1 for blocked
+     * @param mossMask          The moss tile index for each cell, -1 for none
+     * @param collisionOutlines Collision outlines of the chunk's cells in tile units, cut where they cross the chunk edge
+     */
+    public ChunkData(int chunkX, int chunkY, ByteGrid tileStates, ByteGrid navGrid, ByteGrid mossMask,
+                     OutlineSet collisionOutlines) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.tileStates = tileStates;
+        this.navGrid = navGrid;
+        this.mossMask = mossMask;
+        this.collisionOutlines = collisionOutlines;
+    }
+
+    public int getChunkX() { return chunkX; }
+    public int getChunkY() { return chunkY; }
+    public ByteGrid getTileStates() { return tileStates; }
+    public ByteGrid getNavGrid() { return navGrid; }
+    public ByteGrid getMossMask() { return mossMask; }
+    public OutlineSet getCollisionOutlines() { return collisionOutlines; }
+}
@@ -0,0 +1,183 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
+ * Generates a chunked world one chunk at a time. Every vertex is a pure function of the seed and its world
+ * coordinates, so chunks can be generated in any order, on any thread, and still meet seamlessly:
+ * neighbouring chunks share their edge vertices, so their cells, nav and collision line up.
+ * <p>
+ * Caves come from {@link HashNoise}, and a winding corridor (the spine) runs from the left edge of the world
+ * to the right so the spawn and the exit are always connected.
+ */
+public class ChunkGenerator {
+
+    public static final int CHUNK_SIZE = 16;
+
+    private static final int FLOOR = 15;
+
+    // Vertices this close to the world edge are always wall
+    private static final int BORDER = 2;
+
+    private static final float CAVE_SCALE = 10f;
+    private static final float CAVE_THRESHOLD = 0f;
+    private static final int CAVE_OCTAVES = 3;
+
+    private static final float SPINE_SCALE = 24f;
+    private static final float SPINE_AMPLITUDE = 6f;
+    private static final int SPINE_HALF_WIDTH = 2;
+
+    // Keep enemies off the first stretch of the spine, where the player spawns
+    private static final int SAFE_SPAWN_DISTANCE = 6;
+
+    // Close to MossGenerator.MOISTURE_SCALE across a standard level, offset so samples avoid the lattice points
+    private static final float MOISTURE_FREQUENCY = 0.96f;
+    private static final float MOISTURE_OFFSET = 0.5f;
+    private static final float MOSS_MOISTURE = 0.6f;
+
+    private final long seed;
+    private final long caveSeed;
+    private final long spineSeed;
+    private final long moistureSeed;
+    private final long mossSeed;
+    private final int chunksWide;
+    private final int chunksHigh;
+    private final int width;
+    private final int height;
+
+    /**
+     * @param seed       The seed for generation
+     * @param chunksWide Width of the world in chunks
+     * @param chunksHigh Height of the world in chunks
+     */
+    public ChunkGenerator(long seed, int chunksWide, int chunksHigh) {
+        if (chunksWide < 1 || chunksHigh < 1) {
+            throw new IllegalArgumentException("World must be at least one chunk: " + chunksWide + "x" + chunksHigh);
+        }
+        this.seed = seed;
+        this.caveSeed = HashNoise.hash(seed, 1, 0);
+        this.spineSeed = HashNoise.hash(seed, 2, 0);
+        this.moistureSeed = HashNoise.hash(seed, 3, 0);
+        this.mossSeed = HashNoise.hash(seed, 4, 0);
+        this.chunksWide = chunksWide;
+        this.chunksHigh = chunksHigh;
+        this.width = chunksWide * CHUNK_SIZE;
+        this.height = chunksHigh * CHUNK_SIZE;
+    }
+
+    public ChunkData generate(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= chunksWide || chunkY >= chunksHigh) {
+            throw new IndexOutOfBoundsException("Chunk (" + chunkX + ", " + chunkY + ") outside "
+                + chunksWide + "x" + chunksHigh + " world");
+        }
+
+        int originX = chunkX * CHUNK_SIZE;
+        int originY = chunkY * CHUNK_SIZE;
+
+        // One extra row and column, shared with the chunks above and to the right
+        ByteGrid vertices = new ByteGrid(originX, originY, CHUNK_SIZE + 1, CHUNK_SIZE + 1);
+        for (int y = originY; y <= originY + CHUNK_SIZE; y++) {
+            for (int x = originX; x <= originX + CHUNK_SIZE; x++) {
+                vertices.set(x, y, vertexAt(x, y));
+            }
+        }
+
+        ByteGrid tileStates = new ByteGrid(originX, originY, CHUNK_SIZE, CHUNK_SIZE);
+        ByteGrid navGrid = new ByteGrid(originX, originY, CHUNK_SIZE, CHUNK_SIZE);
+        ByteGrid mossMask = new ByteGrid(originX, originY, CHUNK_SIZE, CHUNK_SIZE);
+        mossMask.fill(MossGenerator.NO_MOSS);
+
+        for (int y = originY; y < originY + CHUNK_SIZE; y++) {
+            for (int x = originX; x < originX + CHUNK_SIZE; x++) {
+                int state = vertices.stateAt(x, y);
+                tileStates.set(x, y, state);
+                navGrid.set(x, y, state == FLOOR ? 0 : 1);
+
+                if (state == FLOOR && moistureAt(x, y) > MOSS_MOISTURE) {
+                    mossMask.set(x, y, (int) Math.floorMod(HashNoise.hash(mossSeed, x, y), (long) MossGenerator.MOSS_VARIANTS));
+                }
+            }
+        }
+
+        OutlineSet outlines = new ContourTracer(tileStates, 1f, 1f).trace();
+
+        return new ChunkData(chunkX, chunkY, tileStates, navGrid, mossMask, outlines);
+    }
+
+    /**
+     * 1 for floor, 0 for wall
+     */
+    int vertexAt(int x, int y) {
+        if (x < BORDER || y < BORDER || x > width - BORDER || y > height - BORDER) {
+            return 0;
+        }
+        if (Math.abs(y - spineY(x)) <= SPINE_HALF_WIDTH) {
+            return 1;
+        }
+        return HashNoise.sampleFractal(caveSeed, x / CAVE_SCALE, y / CAVE_SCALE, CAVE_OCTAVES, 0.5f, 2f) > CAVE_THRESHOLD ? 1 : 0;
+    }
+
+    /**
+     * The row the spine runs along at column x, kept far enough from the edges that it is never cut off
+     */
+    private int spineY(int x) {
+        int lowest = BORDER + SPINE_HALF_WIDTH;
+        int highest = height - BORDER - SPINE_HALF_WIDTH - 1;
+        int y = Math.round(height / 2f + SPINE_AMPLITUDE * HashNoise.sample(spineSeed, x / SPINE_SCALE, 0.5f));
+        return Math.max(lowest, Math.min(highest, y));
+    }
+
+    private float moistureAt(int x, int y) {
+        return HashNoise.sample(moistureSeed, x * MOISTURE_FREQUENCY + MOISTURE_OFFSET, y * MOISTURE_FREQUENCY + MOISTURE_OFFSET);
+    }
+
+    /**
+     * Player spawn at the left end of the spine, in world-pixel coordinates
+     */
+    public Vector2 getSpawnPoint(int tileWidth, int tileHeight) {
+        return cellCentre(BORDER, spineY(BORDER), tileWidth, tileHeight);
+    }
+
+    /**
+     * Level exit at the right end of the spine, in world-pixel coordinates
+     */
+    public Vector2 getEndPoint(int tileWidth, int tileHeight) {
+        int x = width - BORDER - 1;
+        return cellCentre(x, spineY(x), tileWidth, tileHeight);
+    }
+
+    /**
+     * Centres of the spine's cells away from the spawn, in world-pixel coordinates. These are floor whether or not
+     * their chunk has been generated yet.
+     */
+    public List<Vector2> getSpawnableAreas(int tileWidth, int tileHeight) {
+        List<Vector2> areas = new ArrayList<>();
+        for (int x = BORDER + SAFE_SPAWN_DISTANCE; x < width - BORDER; x++) {
+            areas.add(cellCentre(x, spineY(x), tileWidth, tileHeight));
+        }
+        return areas;
+    }
+
+    private static Vector2 cellCentre(int x, int y, int tileWidth, int tileHeight) {
+        return new Vector2((x + 0.5f) * tileWidth, (y + 0.5f) * tileHeight);
+    }
+
+    public long getSeed() { return seed; }
+    public int getChunksWide() { return chunksWide; }
+    public int getChunksHigh() { return chunksHigh; }
+
+    /**
+     * Width of the world in tiles
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Height of the world in tiles
+     */
+    public int getHeight() { return height; }
+}
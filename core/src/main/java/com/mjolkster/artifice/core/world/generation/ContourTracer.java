@@ -0,0 +1,210 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+
+import java.util.Arrays;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
+ * Traces the collision outlines straight from the marching squares states. Every cell's wall segments are put
+ * on a lattice of half tiles across and sixteenths of a tile up, joined end to end through their shared lattice points,
+ * and emitted with straight runs already merged.
+ */
+public class ContourTracer {
+
+    // The wall segments of each state as x0, y0, x1, y1, in half tiles across and sixteenths up from the cell corner
+    private static final int[][] CELL_SEGMENTS = {
+        {},
+        {1, 11, 0, 11, 1, 11, 1, 0},
+        {1, 11, 2, 11, 1, 11, 1, 0},
+        {0, 11, 2, 11},
+        {1, 16, 2, 16},
+        {1, 11, 1, 0, 1, 11, 0, 11, 1, 16, 2, 16},
+        {1, 0, 1, 16},
+        {0, 11, 1, 11, 1, 16, 1, 11},
+        {0, 16, 1, 16},
+        {1, 0, 1, 16},
+        {1, 0, 1, 11, 1, 11, 2, 11, 1, 16, 0, 16},
+        {1, 11, 1, 16, 1, 11, 2, 11},
+        {0, 16, 2, 16},
+        {1, 0, 1, 16, 1, 16, 2, 16},
+        {1, 0, 1, 16, 1, 16, 0, 16},
+        {}
+    };
+
+    private static final int WALL_HEIGHT = 11;
+    private static final int SUBDIVISIONS_Y = 16;
+
+    private final ByteGrid tileStates;
+    private final float scaleX;
+    private final float scaleY;
+
+    private final int latticeWidth;
+    private int segmentCount;
+    private int[] segmentA;
+    private int[] segmentB;
+
+    // Incident segment lists, endpoint e belongs to segment e / 2
+    private int[] head;
+    private int[] next;
+
+    /**
+     * @param tileStates       The marching squares state of each cell
+     * @param tileWidthScaled  Width of a tile in world units
+     * @param tileHeightScaled Height of a tile in world units
+     */
+    public ContourTracer(ByteGrid tileStates, float tileWidthScaled, float tileHeightScaled) {
+        this.tileStates = tileStates;
+        this.scaleX = tileWidthScaled;
+        this.scaleY = tileHeightScaled;
+        this.latticeWidth = tileStates.getWidth() * 2 + 1;
+    }
+
+    public OutlineSet trace() {
+        collectSegments();
+        linkEndpoints();
+
+        OutlineSet.Builder outlines = new OutlineSet.Builder();
+        boolean[] visited = new boolean[segmentCount];
+        int[] degree = new int[head.length];
+        for (int s = 0; s < segmentCount; s++) {
+            degree[segmentA[s]]++;
+            degree[segmentB[s]]++;
+        }
+
+        IntArray chain = new IntArray();
+
+        // Open chains first, starting from their loose ends so they aren't split in two
+        for (int s = 0; s < segmentCount; s++) {
+            if (visited[s]) continue;
+            int start = degree[segmentA[s]] != 2 ? segmentA[s] : degree[segmentB[s]] != 2 ? segmentB[s] : -1;
+            if (start >= 0) emit(walk(start, visited, chain), outlines);
+        }
+
+        // Whatever is left are loops
+        for (int s = 0; s < segmentCount; s++) {
+            if (!visited[s]) emit(walk(segmentA[s], visited, chain), outlines);
+        }
+
+        return outlines.build();
+    }
+
+    /**
+     * Follows unvisited segments from a lattice point until it runs out, filling chain with the points passed
+     */
+    private IntArray walk(int start, boolean[] visited, IntArray chain) {
+        chain.clear();
+        chain.add(start);
+
+        int node = start;
+        while (true) {
+            int segment = -1;
+            for (int e = head[node]; e >= 0; e = next[e]) {
+                if (!visited[e >> 1]) {
+                    segment = e >> 1;
+                    break;
+                }
+            }
+            if (segment < 0) break;
+
+            visited[segment] = true;
+            node = segmentA[segment] == node ? segmentB[segment] : segmentA[segment];
+            chain.add(node);
+        }
+
+        return chain;
+    }
+
+    /**
+     * Adds a chain as an outline, dropping points in the middle of straight runs
+     */
+    private void emit(IntArray chain, OutlineSet.Builder outlines) {
+        int count = chain.size;
+        boolean closed = count > 2 && chain.get(0) == chain.get(count - 1);
+        if (closed) count--; // The start isn't repeated
+
+        outlines.begin();
+        for (int i = 0; i < count; i++) {
+            boolean ends = !closed && (i == 0 || i == count - 1);
+            if (ends || !isStraight(chain.get((i + count - 1) % count), chain.get(i), chain.get((i + 1) % count))) {
+                int node = chain.get(i);
+                outlines.point(toWorldX(node), toWorldY(node));
+            }
+        }
+        outlines.end(closed);
+    }
+
+    private boolean isStraight(int previous, int node, int following) {
+        int dx1 = latticeX(node) - latticeX(previous);
+        int dy1 = latticeY(node) - latticeY(previous);
+        int dx2 = latticeX(following) - latticeX(node);
+        int dy2 = latticeY(following) - latticeY(node);
+        return dx1 * dy2 - dy1 * dx2 == 0;
+    }
+
+    private void collectSegments() {
+        segmentA = new int[64];
+        segmentB = new int[64];
+        segmentCount = 0;
+
+        int width = tileStates.getWidth();
+        byte[] states = tileStates.getCells();
+
+        for (int i = 0; i < states.length; i++) {
+            int[] cell = CELL_SEGMENTS[states[i]];
+            int col = i % width;
+            int row = i / width;
+
+            for (int s = 0; s < cell.length; s += 4) {
+                if (segmentCount == segmentA.length) {
+                    segmentA = Arrays.copyOf(segmentA, segmentCount * 2);
+                    segmentB = Arrays.copyOf(segmentB, segmentCount * 2);
+                }
+                segmentA[segmentCount] = node(col, row, cell[s], cell[s + 1]);
+                segmentB[segmentCount] = node(col, row, cell[s + 2], cell[s + 3]);
+                segmentCount++;
+            }
+        }
+    }
+
+    private void linkEndpoints() {
+        int latticeHeight = tileStates.getHeight() * 2 + 1;
+        head = new int[latticeWidth * latticeHeight];
+        Arrays.fill(head, -1);
+        next = new int[segmentCount * 2];
+
+        // Built backwards so each list runs in segment order
+        for (int e = segmentCount * 2 - 1; e >= 0; e--) {
+            int node = (e & 1) == 0 ? segmentA[e >> 1] : segmentB[e >> 1];
+            next[e] = head[node];
+            head[node] = e;
+        }
+    }
+
+    /**
+     * Only three heights occur in a cell, the floor, the top of the wall and the top of the cell,
+     * and the top of one cell is the floor of the next, so each row of cells needs two lattice rows
+     */
+    private int node(int col, int row, int halfX, int sixteenthY) {
+        int latticeRow = row * 2 + (sixteenthY == 0 ? 0 : sixteenthY == WALL_HEIGHT ? 1 : 2);
+        return latticeRow * latticeWidth + col * 2 + halfX;
+    }
+
+    private int latticeX(int node) {
+        return node % latticeWidth;
+    }
+
+    private int latticeY(int node) {
+        int latticeRow = node / latticeWidth;
+        return (latticeRow >> 1) * SUBDIVISIONS_Y + ((latticeRow & 1) == 0 ? 0 : WALL_HEIGHT);
+    }
+
+    private float toWorldX(int node) {
+        return tileStates.getMinX() + latticeX(node) * 0.5f * scaleX;
+    }
+
+    private float toWorldY(int node) {
+        return tileStates.getMinY() + latticeY(node) / (float) SUBDIVISIONS_Y * scaleY;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mjolkster.artifice.core.world.generation;
+
+/**
+ * Timings and counts recorded by {@link MapGenerator#generateLevel(int, int, GenerationStats)}, for profiling the
+ * generator across many seeds. Not thread safe, use one per level.
+ */
+public class GenerationStats {
+
+    public enum Stage {
+        GRID,
+        ISLANDS,
+        CONNECT,
+        TESSELLATE,
+        OUTLINES,
+        MOSS,
+        PIPES
+    }
+
+    private final long[] stageNanos = new long[Stage.values().length];
+    private long totalNanos;
+    private int islandsBefore;
+    private int islandsAfter;
+
+    void record(Stage stage, long startNanos) {
+        stageNanos[stage.ordinal()] = System.nanoTime() - startNanos;
+    }
+
+    void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    void setIslands(int before, int after) {
+        this.islandsBefore = before;
+        this.islandsAfter = after;
+    }
+
+    public long getNanos(Stage stage) { return stageNanos[stage.ordinal()]; }
+
+    /**
+     * Wall time of the whole level, without the island counting done only for these stats; less than the sum of
+     * the stages, as moss and pipes overlap
+     */
+    public long getTotalNanos() { return totalNanos; }
+
+    /**
+     * Islands left after small ones are removed, before {@link IslandManager#connectIslands()}
+     */
+    public int getIslandsBefore() { return islandsBefore; }
+    public int getIslandsAfter() { return islandsAfter; }
+}
@@ -0,0 +1,88 @@
+package com.mjolkster.artifice.core.world.generation;
+
+/**
+ * Gradient noise with no bounds and no state. Unlike {@link PerlinNoiseGenerator}, which stores a gradient per
+ * lattice vertex for a fixed size of world, each gradient here is picked by hashing the seed and the lattice
+ * coordinates, so any region can be sampled on its own and agrees with its neighbours along shared edges.
+ */
+public class HashNoise {
+
+    private static final int GRADIENTS = 16;
+    private static final float[] GRADIENT_X = new float[GRADIENTS];
+    private static final float[] GRADIENT_Y = new float[GRADIENTS];
+
+    static {
+        for (int i = 0; i < GRADIENTS; i++) {
+            double angle = i * 2 * Math.PI / GRADIENTS;
+            GRADIENT_X[i] = (float) Math.cos(angle);
+            GRADIENT_Y[i] = (float) Math.sin(angle);
+        }
+    }
+
+    private HashNoise() {
+    }
+
+    /**
+     * A well mixed 64 bit hash of the seed and an integer coordinate
+     */
+    public static long hash(long seed, int x, int y) {
+        long h = seed ^ (x * 0x9E3779B97F4A7C15L) ^ (y * 0xC2B2AE3D27D4EB4FL);
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Noise at (x, y) in lattice units, roughly in [-0.7, 0.7]
+     */
+    public static float sample(long seed, float x, float y) {
+        int cellX = (int) Math.floor(x);
+        int cellY = (int) Math.floor(y);
+        float u = x - cellX;
+        float v = y - cellY;
+
+        float bottomLeft = dot(seed, cellX, cellY, u, v);
+        float bottomRight = dot(seed, cellX + 1, cellY, u - 1, v);
+        float topLeft = dot(seed, cellX, cellY + 1, u, v - 1);
+        float topRight = dot(seed, cellX + 1, cellY + 1, u - 1, v - 1);
+
+        float uFade = fade(u);
+        float vFade = fade(v);
+
+        return lerp(lerp(bottomLeft, bottomRight, uFade), lerp(topLeft, topRight, uFade), vFade);
+    }
+
+    /**
+     * Octaves of {@link #sample} summed and normalised back into the range of a single octave
+     */
+    public static float sampleFractal(long seed, float x, float y, int octaves, float persistence, float lacunarity) {
+        float total = 0f;
+        float frequency = 1f;
+        float amplitude = 1f;
+        float maxValue = 0f;
+
+        for (int i = 0; i < octaves; i++) {
+            // Each octave gets its own lattice so their features don't line up at the origin
+            total += sample(seed + i, x * frequency, y * frequency) * amplitude;
+            maxValue += amplitude;
+
+            amplitude *= persistence;
+            frequency *= lacunarity;
+        }
+
+        return total / maxValue;
+    }
+
+    private static float dot(long seed, int gridX, int gridY, float dx, float dy) {
+        int gradient = (int) (hash(seed, gridX, gridY) & (GRADIENTS - 1));
+        return GRADIENT_X[gradient] * dx + GRADIENT_Y[gradient] * dy;
+    }
+
+    private static float fade(float t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+
+    private static float lerp(float a, float b, float t) {
+        return a + t * (b - a);
+    }
+}
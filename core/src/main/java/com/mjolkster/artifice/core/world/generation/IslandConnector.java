@@ -0,0 +1,235 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.mjolkster.artifice.util.data.Pair;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.IslandManager IslandManager}
+ * Plans the paths that join every island together as a minimum spanning tree over the islands,
+ * weighted by the distance between their closest cells.
+ * Only boundary cells are considered, since the closest cell of an island to anything outside it is always on its edge,
+ * and they are bucketed on a coarse grid so the nearest cell of another island is found by searching outwards ring by ring.
+ */
+public class IslandConnector {
+
+    private static final int BUCKET_SIZE = 4;
+
+    private final ByteGrid grid;
+    private final int width;
+    private final int height;
+
+    // Boundary cells, sorted by bucket
+    private int[] cellCol;
+    private int[] cellRow;
+    private int[] cellIsland;
+
+    private final int bucketsX;
+    private final int bucketsY;
+    private int[] bucketStart;
+
+    private final int[] parent;
+
+    /**
+     * @param grid    The vertex grid the islands were labelled from
+     * @param islands The labelling of the set vertices, from {@link BitGrid#label()}
+     */
+    public IslandConnector(ByteGrid grid, BitGrid.Components islands) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.bucketsX = (width + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.bucketsY = (height + BUCKET_SIZE - 1) / BUCKET_SIZE;
+
+        this.parent = new int[islands.getCount()];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+
+        extractBoundary(islands);
+    }
+
+    /**
+     * Finds the paths to carve with Borůvka's algorithm, each path joining the closest cells of two islands
+     *
+     * @return Pairs of grid positions to join
+     */
+    public List<Pair<Point, Point>> plan() {
+        List<Pair<Point, Point>> paths = new ArrayList<>();
+        int components = parent.length;
+
+        long[] bestDistance = new long[parent.length];
+        int[] bestFrom = new int[parent.length];
+        int[] bestTo = new int[parent.length];
+
+        while (components > 1) {
+            Arrays.fill(bestDistance, Long.MAX_VALUE);
+            Arrays.fill(bestFrom, -1);
+
+            for (int cell = 0; cell < cellCol.length; cell++) {
+                int root = find(cellIsland[cell]);
+                int nearest = nearestForeignCell(cell, root);
+                if (nearest < 0) continue;
+
+                long distance = distanceSquared(cell, nearest);
+                if (isShorter(distance, cell, nearest, bestDistance[root], bestFrom[root], bestTo[root])) {
+                    bestDistance[root] = distance;
+                    bestFrom[root] = cell;
+                    bestTo[root] = nearest;
+                }
+            }
+
+            int merged = 0;
+            for (int root = 0; root < parent.length; root++) {
+                if (bestFrom[root] < 0) continue;
+
+                int a = find(cellIsland[bestFrom[root]]);
+                int b = find(cellIsland[bestTo[root]]);
+                if (a == b) continue;
+
+                parent[Math.max(a, b)] = Math.min(a, b);
+                paths.add(new Pair<>(toPoint(bestFrom[root]), toPoint(bestTo[root])));
+                merged++;
+            }
+
+            if (merged == 0) break;
+            components -= merged;
+        }
+
+        return paths;
+    }
+
+    /**
+     * Plans the paths and carves them into the grid
+     *
+     * @param pathWidth Width of each path in cells
+     */
+    public void connect(int pathWidth) {
+        for (Pair<Point, Point> path : plan()) {
+            PathGenerator.createPath(path, pathWidth, grid);
+        }
+    }
+
+    private void extractBoundary(BitGrid.Components islands) {
+        int[] labels = islands.getLabels();
+        int[] bucketCount = new int[bucketsX * bucketsY + 1];
+        int boundaryCount = 0;
+        boolean[] boundary = new boolean[labels.length];
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                if (labels[index] == BitGrid.Components.NONE) continue;
+
+                if (col == 0 || col == width - 1 || row == 0 || row == height - 1
+                    || labels[index - 1] == BitGrid.Components.NONE
+                    || labels[index + 1] == BitGrid.Components.NONE
+                    || labels[index - width] == BitGrid.Components.NONE
+                    || labels[index + width] == BitGrid.Components.NONE) {
+                    boundary[index] = true;
+                    bucketCount[bucketOf(col, row) + 1]++;
+                    boundaryCount++;
+                }
+            }
+        }
+
+        bucketStart = new int[bucketsX * bucketsY + 1];
+        for (int b = 0; b < bucketsX * bucketsY; b++) {
+            bucketStart[b + 1] = bucketStart[b] + bucketCount[b + 1];
+        }
+
+        cellCol = new int[boundaryCount];
+        cellRow = new int[boundaryCount];
+        cellIsland = new int[boundaryCount];
+        int[] fill = Arrays.copyOf(bucketStart, bucketStart.length);
+
+        for (int index = 0; index < labels.length; index++) {
+            if (!boundary[index]) continue;
+
+            int col = index % width;
+            int row = index / width;
+            int slot = fill[bucketOf(col, row)]++;
+            cellCol[slot] = col;
+            cellRow[slot] = row;
+            cellIsland[slot] = labels[index];
+        }
+    }
+
+    /**
+     * The closest boundary cell belonging to a different component, -1 if there is none
+     */
+    private int nearestForeignCell(int cell, int root) {
+        int originX = cellCol[cell] / BUCKET_SIZE;
+        int originY = cellRow[cell] / BUCKET_SIZE;
+        int maxRing = Math.max(Math.max(originX, bucketsX - 1 - originX), Math.max(originY, bucketsY - 1 - originY));
+
+        int best = -1;
+        long bestDistance = Long.MAX_VALUE;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell in this ring or beyond is at least this far away along one axis
+            long reach = Math.max(0, (long) (ring - 1) * BUCKET_SIZE + 1);
+            if (best >= 0 && reach * reach > bestDistance) break;
+
+            for (int by = originY - ring; by <= originY + ring; by++) {
+                if (by < 0 || by >= bucketsY) continue;
+
+                boolean edgeRow = by == originY - ring || by == originY + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+
+                for (int bx = originX - ring; bx <= originX + ring; bx += step) {
+                    if (bx < 0 || bx >= bucketsX) continue;
+
+                    int bucket = by * bucketsX + bx;
+                    for (int other = bucketStart[bucket]; other < bucketStart[bucket + 1]; other++) {
+                        if (find(cellIsland[other]) == root) continue;
+
+                        long distance = distanceSquared(cell, other);
+                        if (distance < bestDistance || (distance == bestDistance && other < best)) {
+                            bestDistance = distance;
+                            best = other;
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Orders candidate paths by length, then by cell index so every component agrees on ties
+     */
+    private static boolean isShorter(long distance, int from, int to, long bestDistance, int bestFrom, int bestTo) {
+        if (distance != bestDistance) return distance < bestDistance;
+        if (bestFrom < 0) return true;
+
+        int low = Math.min(from, to);
+        int bestLow = Math.min(bestFrom, bestTo);
+        if (low != bestLow) return low < bestLow;
+        return Math.max(from, to) < Math.max(bestFrom, bestTo);
+    }
+
+    private long distanceSquared(int a, int b) {
+        long dx = cellCol[a] - cellCol[b];
+        long dy = cellRow[a] - cellRow[b];
+        return dx * dx + dy * dy;
+    }
+
+    private int bucketOf(int col, int row) {
+        return (row / BUCKET_SIZE) * bucketsX + col / BUCKET_SIZE;
+    }
+
+    private Point toPoint(int cell) {
+        return new Point(grid.getMinX() + cellCol[cell], grid.getMinY() + cellRow[cell]);
+    }
+
+    private int find(int island) {
+        while (parent[island] != island) {
+            parent[island] = parent[parent[island]];
+            island = parent[island];
+        }
+        return island;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The output of {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}.
+ * Pure data with no graphics resources, so it can be built off the render thread and turned into a
+ * {@link com.badlogic.gdx.maps.tiled.TiledMap TiledMap} later by {@link TiledMapBuilder}
+ */
+public class LevelData {
+
+    private final long seed;
+    private final int width;
+    private final int height;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final ByteGrid vertices;
+    private final ByteGrid tileStates;
+    private final ByteGrid navGrid;
+    private final ByteGrid mossMask;
+    private final OutlineSet collisionOutlines;
+    private final List<PipeRoute> pipes;
+    private final Vector2 spawnPoint;
+    private final Vector2 endPoint;
+
+    /**
+     * @param seed              The seed the level was generated from
+     * @param width             Width of the level in tiles
+     * @param height            Height of the level in tiles
+     * @param tileWidth         Width of the tiles in pixels
+     * @param tileHeight        Height of the tiles in pixels
+     * @param vertices          The marching squares vertex grid
+     * @param tileStates        The marching squares state of each cell, same bounds as the vertex grid
+     * @param navGrid           0 for walkable cells, 1 for blocked
+     * @param mossMask          The moss tile index for each cell, -1 for none
+     * @param collisionOutlines Traced collision outlines in tile units
+     * @param pipes             The canals to draw on the pipe layer
+     * @param spawnPoint        Player spawn, in world-pixel coordinates
+     * @param endPoint          Level exit, in world-pixel coordinates
+     */
+    public LevelData(long seed, int width, int height, int tileWidth, int tileHeight,
+                     ByteGrid vertices, ByteGrid tileStates, ByteGrid navGrid, ByteGrid mossMask,
+                     OutlineSet collisionOutlines, List<PipeRoute> pipes,
+                     Vector2 spawnPoint, Vector2 endPoint) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.vertices = vertices;
+        this.tileStates = tileStates;
+        this.navGrid = navGrid;
+        this.mossMask = mossMask;
+        this.collisionOutlines = collisionOutlines;
+        this.pipes = pipes;
+        this.spawnPoint = spawnPoint;
+        this.endPoint = endPoint;
+    }
+
+    /**
+     * Rebuilds the collision segments from the outlines, a fresh buffer on each call
+     */
+    public SegmentBuffer getCollisionSegments() {
+        return SegmentBuffer.of(collisionOutlines);
+    }
+
+    /**
+     * Centres of all walkable cells, in world-pixel coordinates
+     */
+    public List<Vector2> getSpawnableAreas() {
+        List<Vector2> spawnableAreas = new ArrayList<>();
+
+        for (int x = navGrid.getMinX(); x <= navGrid.getMaxX(); x++) {
+            for (int y = navGrid.getMinY(); y <= navGrid.getMaxY(); y++) {
+                if (navGrid.get(x, y) == 0) {
+                    spawnableAreas.add(new Vector2((x + 0.5f) * tileWidth, (y + 0.5f) * tileHeight));
+                }
+            }
+        }
+
+        return spawnableAreas;
+    }
+
+    public long getSeed() { return seed; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getTileWidth() { return tileWidth; }
+    public int getTileHeight() { return tileHeight; }
+    public ByteGrid getVertices() { return vertices; }
+    public ByteGrid getTileStates() { return tileStates; }
+    public ByteGrid getNavGrid() { return navGrid; }
+    public ByteGrid getMossMask() { return mossMask; }
+    public OutlineSet getCollisionOutlines() { return collisionOutlines; }
+    public List<PipeRoute> getPipes() { return pipes; }
+    public Vector2 getSpawnPoint() { return spawnPoint; }
+    public Vector2 getEndPoint() { return endPoint; }
+}
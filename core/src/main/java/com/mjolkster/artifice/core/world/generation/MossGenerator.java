@@ -1,67 +1,49 @@
 package com.mjolkster.artifice.core.world.generation;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import java.util.SplittableRandom;
 
 /**
  * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
- * Generates a {@link com.badlogic.gdx.maps.tiled.TiledMapTileLayer TiledMapTileLayer} of randomised moss textures to add to the game map
+ * Generates a mask of randomised moss tiles to add to the game map, drawn by {@link TiledMapBuilder}
  */
 public class MossGenerator {
 
-    private final StaticTiledMapTile[] mossTiles;
+    public static final int NO_MOSS = -1;
+    public static final int MOSS_VARIANTS = 15;
+    static final int MOISTURE_SCALE = 23;
+
     private final int width;
     private final int height;
-    private final double[][] moistureMap;
-    private PerlinNoiseGenerator noise = new PerlinNoiseGenerator();
-
-    public MossGenerator(int tileWidth, int tileHeight, int width, int height, long seed) {
+    private final long seed;
+    private final NoiseField moistureMap;
 
+    public MossGenerator(int width, int height, long seed) {
         this.width = width;
         this.height = height;
-        noise.init(width * 32, height * 32, 23, seed);
-
-        Texture mossSet = new Texture(Gdx.files.internal("mosstexture.png"));
-        TextureRegion[][] mossSplit = TextureRegion.split(mossSet, tileWidth, tileHeight);
-        this.mossTiles = new StaticTiledMapTile[mossSplit.length * mossSplit[0].length];
-        int index = 0;
-        for (int row = 0; row < mossSplit.length; row++) {
-            for (int col = 0; col < mossSplit[0].length; col++) {
-                mossTiles[index] = new StaticTiledMapTile(mossSplit[row][col]);
-                index++;
-            }
-        }
-
-        this.moistureMap = new double[width][height];
-
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-
-                float nx = x / 32.0f;
-                float ny = y / 32.0f;
-
-                moistureMap[x][y] = noise.sampleNoiseAt(nx, ny);
-            }
-        }
-
+        this.seed = seed;
+        // Moss is the only stage that samples moisture, so this is the one request for the field
+        this.moistureMap = NoiseFieldService.get(seed, width, height, MOISTURE_SCALE, 1);
     }
 
-    void drawMossLayer(Integer[][] AStarGrid, TiledMapTileLayer mossLayer) {
+    /**
+     * @param navGrid The walkable cells, moss only grows on floor
+     * @return The moss tile index for each cell, {@link #NO_MOSS} where there is none
+     */
+    ByteGrid generateMossMask(ByteGrid navGrid) {
+        ByteGrid mossMask = new ByteGrid(0, 0, width, height);
+        mossMask.fill(NO_MOSS);
+        SplittableRandom random = SeedStreams.forStage(seed, SeedStreams.Stage.MOSS);
+
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                if (AStarGrid[x][y] == 0 && moistureMap[x][y] > 0.6) {
+                if (navGrid.get(x, y) == 0 && moistureMap.get(x, y) > 0.6) {
 
-                    double noiseValue = Math.random();
-
-                    TiledMapTileLayer.Cell moss = new TiledMapTileLayer.Cell();
-                    moss.setTile(mossTiles[(int) (noiseValue * 15)]);
-                    mossLayer.setCell(x, y, moss);
+                    mossMask.set(x, y, random.nextInt(MOSS_VARIANTS));
                 }
             }
         }
+
+        return mossMask;
     }
 
 
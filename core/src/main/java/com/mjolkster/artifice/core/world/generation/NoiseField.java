@@ -0,0 +1,41 @@
+package com.mjolkster.artifice.core.world.generation;
+
+/**
+ * A read-only view of a noise field, one sample per tile. Instances are shared by
+ * {@link com.mjolkster.artifice.core.world.generation.NoiseFieldService NoiseFieldService}, so the samples can't be changed.
+ */
+public class NoiseField {
+
+    private final int width;
+    private final int height;
+    private final float[] samples;
+
+    /**
+     * @param samples Row by row from the bottom, not copied, so must not be modified afterwards
+     */
+    NoiseField(int width, int height, float[] samples) {
+        if (samples.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " samples, got " + samples.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.samples = samples;
+    }
+
+    public float get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException("(" + x + ", " + y + ") outside " + width + "x" + height + " field");
+        }
+        return samples[y * width + x];
+    }
+
+    /**
+     * Copies the samples into dst, which must hold at least width * height floats
+     */
+    public void copyTo(float[] dst) {
+        System.arraycopy(samples, 0, dst, 0, samples.length);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
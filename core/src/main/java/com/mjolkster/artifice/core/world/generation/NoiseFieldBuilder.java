@@ -0,0 +1,130 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
+ * Fills one or more named noise fields of the same size, split into row bands across a {@link ForkJoinPool}.
+ * Every sample is independent, so the result is identical to filling each field serially.
+ * Fields are flat arrays, row by row from the bottom.
+ */
+public class NoiseFieldBuilder {
+
+    // Below this many samples a band is filled on the current thread rather than split further
+    private static final int MIN_BAND_SAMPLES = 4096;
+
+    private final int width;
+    private final int height;
+    private final List<Field> fields = new ArrayList<>();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public NoiseFieldBuilder(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Adds a single octave field, cell (x, y) sampled at (x * frequency, y * frequency)
+     */
+    public NoiseFieldBuilder field(String name, PerlinNoiseGenerator noise, float frequency) {
+        return field(name, noise, frequency, 1, 1f, 1f);
+    }
+
+    /**
+     * Adds a field sampled with {@link PerlinNoiseGenerator#sampleFractalNoise}
+     */
+    public NoiseFieldBuilder field(String name, PerlinNoiseGenerator noise, float frequency,
+                                   int octaves, float persistence, float lacunarity) {
+        fields.add(new Field(name, noise, frequency, octaves, persistence, lacunarity));
+        return this;
+    }
+
+    public NoiseFieldBuilder pool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Fills every field, the noise generators must not be re-initialised while this runs
+     *
+     * @return The fields by name, in the order they were added
+     */
+    public Map<String, float[]> build() {
+        Map<String, float[]> result = new LinkedHashMap<>();
+        float[][] buffers = new float[fields.size()][];
+
+        for (int i = 0; i < fields.size(); i++) {
+            buffers[i] = new float[width * height];
+            result.put(fields.get(i).name, buffers[i]);
+        }
+
+        BandTask task = new BandTask(buffers, 0, height);
+        if ((long) width * height <= MIN_BAND_SAMPLES) {
+            task.fillBand();
+        } else {
+            pool.invoke(task);
+        }
+
+        return result;
+    }
+
+    private static class Field {
+        final String name;
+        final PerlinNoiseGenerator noise;
+        final float frequency;
+        final int octaves;
+        final float persistence;
+        final float lacunarity;
+
+        Field(String name, PerlinNoiseGenerator noise, float frequency, int octaves, float persistence, float lacunarity) {
+            this.name = name;
+            this.noise = noise;
+            this.frequency = frequency;
+            this.octaves = octaves;
+            this.persistence = persistence;
+            this.lacunarity = lacunarity;
+        }
+    }
+
+    private class BandTask extends RecursiveAction {
+        private final float[][] buffers;
+        private final int firstRow;
+        private final int rows;
+
+        BandTask(float[][] buffers, int firstRow, int rows) {
+            this.buffers = buffers;
+            this.firstRow = firstRow;
+            this.rows = rows;
+        }
+
+        @Override
+        protected void compute() {
+            if (rows <= 1 || (long) rows * width <= MIN_BAND_SAMPLES) {
+                fillBand();
+                return;
+            }
+
+            int half = rows / 2;
+            invokeAll(new BandTask(buffers, firstRow, half), new BandTask(buffers, firstRow + half, rows - half));
+        }
+
+        void fillBand() {
+            int offset = firstRow * width;
+
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                if (field.octaves == 1) {
+                    field.noise.fill(buffers[i], offset, 0, firstRow, width, rows, field.frequency);
+                } else {
+                    field.noise.fillFractal(buffers[i], offset, 0, firstRow, width, rows, field.frequency,
+                        field.octaves, field.persistence, field.lacunarity);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Hands out shared {@link NoiseField NoiseFields} so that every generation stage asking for the same field
+ * gets the one already built, rather than building its own. Recently used fields are kept, the least recently used
+ * are dropped once more than {@link #MAX_FIELDS} are held. Safe to use from several threads, a field requested
+ * while it is being built waits for that build.
+ */
+public class NoiseFieldService {
+
+    public static final int MAX_FIELDS = 8;
+
+    private static final Map<Key, FutureTask<NoiseField>> fields = new LinkedHashMap<Key, FutureTask<NoiseField>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, FutureTask<NoiseField>> eldest) {
+            return size() > MAX_FIELDS;
+        }
+    };
+
+    /**
+     * A field of one sample per tile over a map of the given size, from a {@link PerlinNoiseGenerator} spanning
+     * the map in pixels with the given lattice scale, sampled every 1/32 of a pixel.
+     * Extra octaves each double the frequency and halve the amplitude.
+     *
+     * @param seed    The seed for the noise gradients
+     * @param width   Width of the map in tiles
+     * @param height  Height of the map in tiles
+     * @param scale   Lattice cells across the map
+     * @param octaves Number of octaves, 1 for plain noise
+     */
+    public static NoiseField get(long seed, int width, int height, int scale, int octaves) {
+        Key key = new Key(seed, width, height, scale, octaves);
+        FutureTask<NoiseField> task;
+        boolean owner = false;
+
+        synchronized (fields) {
+            task = fields.get(key);
+            if (task == null) {
+                task = new FutureTask<>(() -> build(key));
+                fields.put(key, task);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            task.run();
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for noise field", e);
+        } catch (ExecutionException e) {
+            synchronized (fields) {
+                fields.remove(key, task);
+            }
+            throw new IllegalStateException("Noise field failed to build", e.getCause());
+        }
+    }
+
+    public static void clear() {
+        synchronized (fields) {
+            fields.clear();
+        }
+    }
+
+    private static NoiseField build(Key key) {
+        PerlinNoiseGenerator noise = new PerlinNoiseGenerator();
+        noise.init(key.width * 32, key.height * 32, key.scale, key.seed);
+
+        float[] samples = new NoiseFieldBuilder(key.width, key.height)
+            .field("noise", noise, 1 / 32.0f, key.octaves, 0.5f, 2f)
+            .build()
+            .get("noise");
+
+        return new NoiseField(key.width, key.height, samples);
+    }
+
+    private static class Key {
+        final long seed;
+        final int width;
+        final int height;
+        final int scale;
+        final int octaves;
+
+        Key(long seed, int width, int height, int scale, int octaves) {
+            this.seed = seed;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            this.octaves = octaves;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return seed == key.seed && width == key.width && height == key.height
+                && scale == key.scale && octaves == key.octaves;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seed, width, height, scale, octaves);
+        }
+    }
+}
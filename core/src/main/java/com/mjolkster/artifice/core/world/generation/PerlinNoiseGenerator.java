@@ -1,45 +1,33 @@
 package com.mjolkster.artifice.core.world.generation;
 
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-
-import java.util.HashMap;
-import java.util.List;
 import java.util.Random;
 
+/**
+ * Gradient noise over a square lattice. Gradients are stored in flat arrays indexed by lattice vertex,
+ * so sampling does no allocation or hashing.
+ */
 public class PerlinNoiseGenerator {
 
-    private final Array<Vector2> gridVertices = new Array<>();
-    private final HashMap<Vector2, Vector2> vertexMap = new HashMap<>();
+    private float[] gradientX = new float[0];
+    private float[] gradientY = new float[0];
 
     private float gridLength;
     private int scale;
     private int yCells;
     private Random random;
 
-    // Convert (gridX, gridY) to index in gridVertices
+    // Convert (gridX, gridY) to index in the gradient arrays
     private int index(int gx, int gy) {
         return gy * (scale + 1) + gx;
     }
 
-    public Array<Vector2> getGridVertices() {
-        return gridVertices;
-    }
-
     public float getGridLength() {
         return gridLength;
     }
 
-    public Array<Float> generateFullNoiseMap(int width, int height) {
-        Array<Float> noiseValues = new Array<>();
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                float noiseVal = sampleNoiseAt(x, y);
-                noiseValues.add(noiseVal);
-            }
-        }
-
+    public float[] generateFullNoiseMap(int width, int height) {
+        float[] noiseValues = new float[width * height];
+        fill(noiseValues, 0, 0, 0, width, height, 1f);
         return noiseValues;
     }
 
@@ -48,31 +36,30 @@ public class PerlinNoiseGenerator {
         this.gridLength = width / scale;
         this.yCells = (int) Math.ceil(height / gridLength);
 
-        gridVertices.clear();
-        vertexMap.clear();
-
         this.random = new Random(seed);
 
-        createGrid();
         createRandomVectors();
     }
 
-    // Create grid vertices
-    private void createGrid() {
-        for (int j = 0; j <= yCells; j++) {
-            for (int i = 0; i <= scale; i++) {
-                Vector2 vertV2 = new Vector2(i * gridLength, j * gridLength);
-                gridVertices.add(vertV2);
-            }
-        }
-    }
-
-    // Assign random gradient vectors to each vertex
+    // Assign a random unit gradient to each vertex
     private void createRandomVectors() {
-        for (Vector2 vertex : gridVertices) {
+        int vertices = (yCells + 1) * (scale + 1);
+        gradientX = new float[vertices];
+        gradientY = new float[vertices];
+
+        for (int i = 0; i < vertices; i++) {
             float randomX = (random.nextFloat() * 2) - 1;
             float randomY = (random.nextFloat() * 2) - 1;
-            vertexMap.put(vertex, new Vector2(randomX, randomY).nor());
+
+            // Same maths as Vector2.nor()
+            float length = (float) Math.sqrt(randomX * randomX + randomY * randomY);
+            if (length != 0) {
+                randomX /= length;
+                randomY /= length;
+            }
+
+            gradientX[i] = randomX;
+            gradientY[i] = randomY;
         }
     }
 
@@ -85,15 +72,32 @@ public class PerlinNoiseGenerator {
         int cellX = (int) (x / gridLength);
         int cellY = (int) (y / gridLength);
 
-        // Get dot products for this cell and sample point
-        List<Float> dotProducts = findDotProducts(cellX, cellY, x, y);
+        float left = cellX * gridLength;
+        float right = (cellX + 1) * gridLength;
+        float bottom = cellY * gridLength;
+        float top = (cellY + 1) * gridLength;
+
+        int bottomL = index(cellX, cellY);
+        int topL = index(cellX, cellY + 1);
+
+        // Dot products of each corner's gradient with the vector from that corner to the sample point
+        float bLD = gradientX[bottomL] * (x - left) + gradientY[bottomL] * (y - bottom);
+        float tLD = gradientX[topL] * (x - left) + gradientY[topL] * (y - top);
+        float tRD = gradientX[topL + 1] * (x - right) + gradientY[topL + 1] * (y - top);
+        float bRD = gradientX[bottomL + 1] * (x - right) + gradientY[bottomL + 1] * (y - bottom);
 
         // Relative position inside cell
-        float u = (x - cellX * gridLength) / gridLength;
-        float v = (y - cellY * gridLength) / gridLength;
+        float u = (x - left) / gridLength;
+        float v = (y - bottom) / gridLength;
 
         // Interpolate
-        return interpolationHandler(dotProducts, u, v);
+        float uFade = fade(u);
+        float vFade = fade(v);
+
+        float bottomInterp = lerp(bLD, bRD, uFade);
+        float topInterp = lerp(tLD, tRD, uFade);
+
+        return lerp(bottomInterp, topInterp, vFade);
     }
 
     public float sampleFractalNoise(float x, float y, int octaves, float persistence, float lacunarity) {
@@ -113,46 +117,46 @@ public class PerlinNoiseGenerator {
         return total / maxValue;
     }
 
-    // Find the dot products for the four corners of the cell
-    private List<Float> findDotProducts(int cellX, int cellY, float x, float y) {
-
-        // Get shared vertex objects
-        Vector2 bottomL = gridVertices.get(index(cellX, cellY));
-        Vector2 topL = gridVertices.get(index(cellX, cellY + 1));
-        Vector2 topR = gridVertices.get(index(cellX + 1, cellY + 1));
-        Vector2 bottomR = gridVertices.get(index(cellX + 1, cellY));
-
-        // Vectors from corner to sample point
-        Vector2 bLS = new Vector2(x - bottomL.x, y - bottomL.y);
-        Vector2 tLS = new Vector2(x - topL.x, y - topL.y);
-        Vector2 tRS = new Vector2(x - topR.x, y - topR.y);
-        Vector2 bRS = new Vector2(x - bottomR.x, y - bottomR.y);
-
-        // Gradient vectors
-        Vector2 bLG = vertexMap.get(bottomL);
-        Vector2 tLG = vertexMap.get(topL);
-        Vector2 tRG = vertexMap.get(topR);
-        Vector2 bRG = vertexMap.get(bottomR);
-
-        // Dot products
-        float bLD = bLG.dot(bLS);
-        float tLD = tLG.dot(tLS);
-        float tRD = tRG.dot(tRS);
-        float bRD = bRG.dot(bRS);
-
-        return List.of(bLD, tLD, tRD, bRD);
+    /**
+     * Samples a rectangle of noise into out, row by row from the bottom.
+     * Cell (i, j) of the rectangle is sampled at ((originX + i) * frequency, (originY + j) * frequency).
+     *
+     * @param out    Destination, written from offset onwards
+     * @param offset Index in out of the rectangle's bottom-left cell
+     */
+    public void fill(float[] out, int offset, int originX, int originY, int width, int height, float frequency) {
+        checkRegion(out, offset, width, height);
+
+        int i = offset;
+        for (int y = originY; y < originY + height; y++) {
+            float sampleY = y * frequency;
+            for (int x = originX; x < originX + width; x++) {
+                out[i++] = sampleNoiseAt(x * frequency, sampleY);
+            }
+        }
     }
 
-    // Interpolate dot products
-    public float interpolationHandler(List<Float> dotProducts, float u, float v) {
-
-        float uFade = fade(u);
-        float vFade = fade(v);
-
-        float bottomInterp = lerp(dotProducts.get(0), dotProducts.get(3), uFade);
-        float topInterp = lerp(dotProducts.get(1), dotProducts.get(2), uFade);
+    /**
+     * As {@link #fill(float[], int, int, int, int, int, float)}, but each cell is {@link #sampleFractalNoise sampled fractally}
+     */
+    public void fillFractal(float[] out, int offset, int originX, int originY, int width, int height, float frequency,
+                            int octaves, float persistence, float lacunarity) {
+        checkRegion(out, offset, width, height);
+
+        int i = offset;
+        for (int y = originY; y < originY + height; y++) {
+            float sampleY = y * frequency;
+            for (int x = originX; x < originX + width; x++) {
+                out[i++] = sampleFractalNoise(x * frequency, sampleY, octaves, persistence, lacunarity);
+            }
+        }
+    }
 
-        return lerp(bottomInterp, topInterp, vFade);
+    private static void checkRegion(float[] out, int offset, int width, int height) {
+        if (offset < 0 || width < 0 || height < 0 || offset + (long) width * height > out.length) {
+            throw new IndexOutOfBoundsException("Region of " + width + "x" + height + " at " + offset
+                + " does not fit in " + out.length + " samples");
+        }
     }
 
     // Perlin fade curve
@@ -0,0 +1,60 @@
+package com.mjolkster.artifice.core.world.generation;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.LevelData LevelData}
+ * A canal carved by {@link com.mjolkster.artifice.core.world.generation.PipeGenerator PipeGenerator}, stored as
+ * packed (x, y, direction) steps leading away from the pipe mouth
+ */
+public class PipeRoute {
+
+    private static final DirectionOfTravel[] DIRECTIONS = DirectionOfTravel.values();
+
+    private final int startX;
+    private final int startY;
+    private final int[] steps;
+
+    /**
+     * @param startX The x position of the pipe mouth
+     * @param startY The y position of the pipe mouth
+     * @param steps  Packed x, y, {@link DirectionOfTravel#ordinal() direction} triples for each step
+     */
+    public PipeRoute(int startX, int startY, int[] steps) {
+        if (steps.length % 3 != 0) {
+            throw new IllegalArgumentException("Pipe steps must be packed as x, y, direction triples");
+        }
+        this.startX = startX;
+        this.startY = startY;
+        this.steps = steps;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    public int length() {
+        return steps.length / 3;
+    }
+
+    public int getX(int step) {
+        return steps[step * 3];
+    }
+
+    public int getY(int step) {
+        return steps[step * 3 + 1];
+    }
+
+    public DirectionOfTravel getDirection(int step) {
+        return DIRECTIONS[steps[step * 3 + 2]];
+    }
+
+    /**
+     * The packed steps, not copied
+     */
+    public int[] getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,219 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import java.util.Arrays;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.PipeGenerator PipeGenerator}
+ * Finds the longest canal from a pipe mouth with a memoized search over (cell, direction, turns made).
+ * Canals only ever flow east, north or south and never turn straight back, so no cell can be visited twice
+ * and every state's best continuation only has to be worked out once.
+ */
+public class PipeRouter {
+
+    public static final int MAX_TURNS = 5;
+    public static final int MAX_RAY_LENGTH = 8;
+    public static final int MAX_STEPS = 500;
+    public static final int DEFAULT_NODE_BUDGET = 200_000;
+
+    private static final DirectionOfTravel[] DIRECTIONS = {
+        DirectionOfTravel.EAST, DirectionOfTravel.NORTH, DirectionOfTravel.SOUTH
+    };
+    private static final int EAST = 0;
+    private static final int NORTH = 1;
+    private static final int SOUTH = 2;
+
+    // Straight ahead first, so it wins ties
+    private static final int[][] NEXT_DIRECTIONS = {
+        {EAST, NORTH, SOUTH},
+        {NORTH, EAST},
+        {SOUTH, EAST}
+    };
+
+    private static final int TURN_STATES = MAX_TURNS + 1;
+    private static final int UNKNOWN = -1;
+    private static final int END = -1;
+
+    private final ByteGrid grid;
+    private final int nodeBudget;
+    private final boolean[] floor;
+    private final boolean[][] canTurn;
+
+    private final int[] length;
+    private final int[] choice;
+    private int expanded;
+
+    public PipeRouter(ByteGrid grid) {
+        this(grid, DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * @param grid       The vertex grid to route through
+     * @param nodeBudget The most states to expand per route, past this the canal just ends
+     */
+    public PipeRouter(ByteGrid grid, int nodeBudget) {
+        this.grid = grid;
+        this.nodeBudget = nodeBudget;
+
+        int cells = grid.getWidth() * grid.getHeight();
+        this.floor = new boolean[cells];
+        grid.forEach((x, y, vertex) -> floor[grid.index(x, y)] = grid.stateAt(x, y) == 15);
+
+        this.canTurn = new boolean[DIRECTIONS.length][];
+        canTurn[EAST] = findTurns(DirectionOfTravel.EAST);
+        canTurn[NORTH] = findTurns(DirectionOfTravel.NORTH);
+        canTurn[SOUTH] = findTurns(DirectionOfTravel.SOUTH);
+
+        this.length = new int[cells * DIRECTIONS.length * TURN_STATES];
+        this.choice = new int[length.length];
+    }
+
+    /**
+     * Finds the longest canal leaving the mouth heading east
+     *
+     * @return The route, at most {@link #MAX_STEPS} long
+     */
+    public PipeRoute route(int startX, int startY) {
+        Arrays.fill(length, UNKNOWN);
+        expanded = 0;
+
+        int start = stateOf(startX, startY, EAST, 0);
+        solve(start);
+
+        int steps = Math.min(length[start], MAX_STEPS);
+        int[] packed = new int[steps * 3];
+
+        int x = startX;
+        int y = startY;
+        int direction = EAST;
+        int turns = 0;
+
+        for (int i = 0; i < steps; i++) {
+            DirectionOfTravel dir = DIRECTIONS[direction];
+            int nextDirection = choice[stateOf(x, y, direction, turns)];
+
+            x += dir.dx;
+            y += dir.dy;
+            packed[i * 3] = x;
+            packed[i * 3 + 1] = y;
+            packed[i * 3 + 2] = dir.ordinal();
+
+            if (nextDirection == END) break;
+            if (nextDirection != direction) turns++;
+            direction = nextDirection;
+        }
+
+        return new PipeRoute(startX, startY, packed);
+    }
+
+    /**
+     * Fills in the best length for a state and everything it depends on, depth first without recursion
+     */
+    private void solve(int root) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+
+        while (top > 0) {
+            int state = stack[top - 1];
+            if (length[state] != UNKNOWN) {
+                top--;
+                continue;
+            }
+
+            int cell = state / (DIRECTIONS.length * TURN_STATES);
+            int direction = (state / TURN_STATES) % DIRECTIONS.length;
+            int turns = state % TURN_STATES;
+
+            int next = nextCell(cell, direction);
+            if (next < 0 || !floor[next] || expanded >= nodeBudget) {
+                // The step into a wall or off the map is the last piece of canal
+                length[state] = 1;
+                choice[state] = END;
+                top--;
+                continue;
+            }
+
+            // Push any unsolved successors before settling this state
+            boolean ready = true;
+            for (int nextDirection : NEXT_DIRECTIONS[direction]) {
+                int child = childOf(next, direction, nextDirection, turns);
+                if (child >= 0 && length[child] == UNKNOWN) {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[top++] = child;
+                    ready = false;
+                }
+            }
+            if (!ready) continue;
+
+            int best = 0;
+            int bestDirection = END;
+            for (int nextDirection : NEXT_DIRECTIONS[direction]) {
+                int child = childOf(next, direction, nextDirection, turns);
+                if (child >= 0 && length[child] > best) {
+                    best = length[child];
+                    bestDirection = nextDirection;
+                }
+            }
+
+            length[state] = 1 + best;
+            choice[state] = bestDirection;
+            expanded++;
+            top--;
+        }
+    }
+
+    /**
+     * The state after stepping into a floor cell, -1 if the move isn't allowed
+     */
+    private int childOf(int cell, int direction, int nextDirection, int turns) {
+        if (nextDirection != direction) {
+            if (turns == MAX_TURNS) return -1;
+            // Only turn towards a wall, otherwise the canal would run into open floor
+            if (!canTurn[nextDirection][cell]) return -1;
+            return stateOf(cell, nextDirection, turns + 1);
+        }
+        return stateOf(cell, nextDirection, turns);
+    }
+
+    /**
+     * Marks the floor cells that have a wall within {@link #MAX_RAY_LENGTH} cells in the given direction,
+     * with nothing but floor in between
+     */
+    private boolean[] findTurns(DirectionOfTravel ray) {
+        boolean[] turns = new boolean[floor.length];
+
+        grid.forEach((x, y, vertex) -> {
+            int index = grid.index(x, y);
+            if (!floor[index]) return;
+
+            for (int i = 1; i <= MAX_RAY_LENGTH; i++) {
+                int rayState = grid.stateAt(x + ray.dx * i, y + ray.dy * i);
+                if (rayState != 15) {
+                    turns[index] = isWall(rayState);
+                    return;
+                }
+            }
+        });
+
+        return turns;
+    }
+
+    private int nextCell(int cell, int direction) {
+        DirectionOfTravel dir = DIRECTIONS[direction];
+        int x = grid.xOf(cell) + dir.dx;
+        int y = grid.yOf(cell) + dir.dy;
+        return grid.contains(x, y) ? grid.index(x, y) : -1;
+    }
+
+    private int stateOf(int x, int y, int direction, int turns) {
+        return stateOf(grid.index(x, y), direction, turns);
+    }
+
+    private static int stateOf(int cell, int direction, int turns) {
+        return (cell * DIRECTIONS.length + direction) * TURN_STATES + turns;
+    }
+
+    private static boolean isWall(int s) {
+        return s == 3 || s == 6 || s == 9 || s == 12;
+    }
+}
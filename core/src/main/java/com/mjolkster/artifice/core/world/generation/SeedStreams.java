@@ -0,0 +1,44 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Derives an independent random stream for each generation stage, and for each chunk of a chunked world, from the
+ * level seed. A stage's stream doesn't depend on which other stages ran before it or on which thread, so stages
+ * with no data between them can run concurrently and still give the same level for the same seed.
+ */
+public class SeedStreams {
+
+    /**
+     * The consumers of randomness. Append new stages at the end, reordering changes every stream.
+     */
+    public enum Stage {
+        GRID,
+        MOSS,
+        PIPES,
+        DECORATION,
+        SPAWNS
+    }
+
+    private SeedStreams() {
+    }
+
+    public static SplittableRandom forStage(long seed, Stage stage) {
+        return new SplittableRandom(HashNoise.hash(seed, stage.ordinal() + 1, -1));
+    }
+
+    public static SplittableRandom forChunk(long seed, Stage stage, int chunkX, int chunkY) {
+        return new SplittableRandom(HashNoise.hash(HashNoise.hash(seed, stage.ordinal() + 1, -2), chunkX, chunkY));
+    }
+
+    /**
+     * Fisher-Yates shuffle driven by the given stream, in place of {@link java.util.Collections#shuffle(List)}
+     */
+    public static <T> void shuffle(List<T> list, SplittableRandom random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
+ * Works out the marching squares state of every cell in one pass over the vertex grid, and along the way
+ * the nav grid, the pipe mouths and the leftmost and rightmost walkable cells.
+ * Rows are split into bands across a {@link ForkJoinPool}, and band results are merged bottom to top,
+ * so the result is the same as a single row by row pass.
+ */
+public class Tessellator {
+
+    // Below this many cells a band is processed on the current thread rather than split further
+    private static final int MIN_BAND_CELLS = 4096;
+
+    private static final int FLOOR = 15;
+    private static final int PIPE_START = 6;
+
+    private final ByteGrid vertices;
+    private final ByteGrid tileStates;
+    private final ByteGrid navGrid;
+
+    /**
+     * @param vertices The vertex grid to tessellate
+     * @param navGrid  Filled in with 0 for floor and 1 for anything else, where it overlaps the vertex grid
+     */
+    private Tessellator(ByteGrid vertices, ByteGrid navGrid) {
+        this.vertices = vertices;
+        this.navGrid = navGrid;
+        this.tileStates = new ByteGrid(vertices.getMinX(), vertices.getMinY(), vertices.getWidth(), vertices.getHeight());
+    }
+
+    /**
+     * @param vertices  The vertex grid to tessellate
+     * @param navWidth  Width of the nav grid, which starts at (0, 0)
+     * @param navHeight Height of the nav grid
+     */
+    public static Tessellation tessellate(ByteGrid vertices, int navWidth, int navHeight) {
+        ByteGrid navGrid = new ByteGrid(0, 0, navWidth, navHeight);
+        navGrid.fill(1);
+
+        Tessellator tessellator = new Tessellator(vertices, navGrid);
+        Band band = tessellator.new BandTask(0, vertices.getHeight()).run();
+
+        return new Tessellation(tessellator.tileStates, navGrid, band.pipeStarts.toArray(),
+            band.leftmost, band.rightmost);
+    }
+
+    private Band processRows(int firstRow, int rows) {
+        Band band = new Band();
+        byte[] cells = vertices.getCells();
+        byte[] states = tileStates.getCells();
+        int width = vertices.getWidth();
+        int height = vertices.getHeight();
+
+        for (int row = firstRow; row < firstRow + rows; row++) {
+            int y = vertices.getMinY() + row;
+            int base = row * width;
+            boolean hasRowAbove = row + 1 < height;
+
+            for (int col = 0; col < width; col++) {
+                int x = vertices.getMinX() + col;
+                boolean hasColRight = col + 1 < width;
+
+                // Vertices outside the grid count as 0
+                int bl = cells[base + col];
+                int br = hasColRight ? cells[base + col + 1] : 0;
+                int tr = hasColRight && hasRowAbove ? cells[base + width + col + 1] : 0;
+                int tl = hasRowAbove ? cells[base + width + col] : 0;
+                int state = bl + (br << 1) + (tr << 2) + (tl << 3);
+
+                states[base + col] = (byte) state;
+
+                if (navGrid.contains(x, y)) {
+                    navGrid.set(x, y, state == FLOOR ? 0 : 1);
+                }
+
+                if (state == PIPE_START) {
+                    band.pipeStarts.add(x, y);
+                }
+
+                if (state == FLOOR) {
+                    int index = tileStates.index(x, y);
+                    // Strictly further out only, so the lowest cell wins ties like a bottom-up scan
+                    if (band.leftmost < 0 || x < tileStates.xOf(band.leftmost)) band.leftmost = index;
+                    if (band.rightmost < 0 || x > tileStates.xOf(band.rightmost)) band.rightmost = index;
+                }
+            }
+        }
+
+        return band;
+    }
+
+    private static class Band {
+        final IntArray pipeStarts = new IntArray();
+        int leftmost = -1;
+        int rightmost = -1;
+
+        /**
+         * Appends a band from higher rows
+         */
+        void merge(Band above, ByteGrid grid) {
+            pipeStarts.addAll(above.pipeStarts);
+
+            if (above.leftmost >= 0 && (leftmost < 0 || grid.xOf(above.leftmost) < grid.xOf(leftmost))) {
+                leftmost = above.leftmost;
+            }
+            if (above.rightmost >= 0 && (rightmost < 0 || grid.xOf(above.rightmost) > grid.xOf(rightmost))) {
+                rightmost = above.rightmost;
+            }
+        }
+    }
+
+    private class BandTask extends RecursiveTask<Band> {
+        private final int firstRow;
+        private final int rows;
+
+        BandTask(int firstRow, int rows) {
+            this.firstRow = firstRow;
+            this.rows = rows;
+        }
+
+        Band run() {
+            if ((long) rows * vertices.getWidth() <= MIN_BAND_CELLS) {
+                return processRows(firstRow, rows);
+            }
+            return ForkJoinPool.commonPool().invoke(this);
+        }
+
+        @Override
+        protected Band compute() {
+            if (rows <= 1 || (long) rows * vertices.getWidth() <= MIN_BAND_CELLS) {
+                return processRows(firstRow, rows);
+            }
+
+            int half = rows / 2;
+            BandTask above = new BandTask(firstRow + half, rows - half);
+            above.fork();
+            Band below = new BandTask(firstRow, half).compute();
+            below.merge(above.join(), tileStates);
+            return below;
+        }
+    }
+
+    /**
+     * The result of {@link #tessellate(ByteGrid, int, int)}
+     */
+    public static class Tessellation {
+
+        private final ByteGrid tileStates;
+        private final ByteGrid navGrid;
+        private final int[] pipeStarts;
+        private final int leftmostFloor;
+        private final int rightmostFloor;
+
+        Tessellation(ByteGrid tileStates, ByteGrid navGrid, int[] pipeStarts, int leftmostFloor, int rightmostFloor) {
+            this.tileStates = tileStates;
+            this.navGrid = navGrid;
+            this.pipeStarts = pipeStarts;
+            this.leftmostFloor = leftmostFloor;
+            this.rightmostFloor = rightmostFloor;
+        }
+
+        /**
+         * The state of each cell, with the same bounds as the vertex grid
+         */
+        public ByteGrid getTileStates() { return tileStates; }
+
+        public ByteGrid getNavGrid() { return navGrid; }
+
+        /**
+         * Packed x, y pairs of every cell in state 6, row by row from the bottom
+         */
+        public int[] getPipeStarts() { return pipeStarts; }
+
+        /**
+         * Index in the tile state grid of the lowest of the leftmost floor cells, -1 if there is no floor
+         */
+        public int getLeftmostFloor() { return leftmostFloor; }
+
+        /**
+         * Index in the tile state grid of the lowest of the rightmost floor cells, -1 if there is no floor
+         */
+        public int getRightmostFloor() { return rightmostFloor; }
+    }
+}
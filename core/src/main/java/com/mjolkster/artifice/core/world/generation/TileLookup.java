@@ -1,20 +1,18 @@
 package com.mjolkster.artifice.core.world.generation;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
 import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
 import com.badlogic.gdx.utils.Array;
+import com.mjolkster.artifice.io.AssetCache;
 import com.mjolkster.artifice.util.data.Pair;
-import com.mjolkster.artifice.util.geometry.Line;
 
-import java.awt.*;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * A helper class for {@link com.mjolkster.artifice.core.world.generation.MapGenerator MapGenerator}
@@ -22,13 +20,24 @@ import java.util.Set;
  */
 public class TileLookup {
 
-    private TextureAtlas atlas = new TextureAtlas(Gdx.files.internal("tiles.atlas"));
+    private static final String TILE_ATLAS = "tiles.atlas";
+    private static final String MOSS_TEXTURE = "mosstexture.png";
+
+    private static int users = 0;
     private static Map<Integer, TiledMapTile> tiles = new HashMap<>();
     private static Map<Integer, TiledMapTile> animatedTiles = new HashMap<>();
     private static Map<Integer, Pair<TiledMapTile, TiledMapTile>> pipeTiles = new HashMap<>();
     private static Map<DirectionOfTravel, TiledMapTile> straightPipeTiles = new HashMap<>();
+    private static StaticTiledMapTile[] mossTiles;
+
+    /**
+     * Loads the tile textures if they aren't already, and counts the caller as a user until it calls
+     * {@link #release()}. Must be called on the render thread.
+     */
+    public static synchronized void load() {
+        if (users++ > 0) return;
 
-    public TileLookup() {
+        TextureAtlas atlas = AssetCache.acquire(TILE_ATLAS, TextureAtlas.class);
 
         {
             tiles.put(0, new StaticTiledMapTile(atlas.findRegion("void")));
@@ -86,10 +95,41 @@ public class TileLookup {
         straightPipeTiles.put(DirectionOfTravel.SOUTH_WEST, new StaticTiledMapTile(atlas.findRegion("canal_southeast_1")));
         straightPipeTiles.put(DirectionOfTravel.SOUTH_EAST, new StaticTiledMapTile(atlas.findRegion("canal_southwest_1")));
 
+        Texture mossSet = AssetCache.acquire(MOSS_TEXTURE, Texture.class);
+        TextureRegion[][] mossSplit = TextureRegion.split(mossSet, 32, 32);
+        mossTiles = new StaticTiledMapTile[mossSplit.length * mossSplit[0].length];
+        int index = 0;
+        for (int row = 0; row < mossSplit.length; row++) {
+            for (int col = 0; col < mossSplit[0].length; col++) {
+                mossTiles[index] = new StaticTiledMapTile(mossSplit[row][col]);
+                index++;
+            }
+        }
     }
 
-    public static TiledMapTile getTile(int state) {
-        if (Math.random() > 0.9) {
+    /**
+     * Drops a user taken by {@link #load()}; the last user out releases the textures, so maps built afterwards
+     * load them again
+     */
+    public static synchronized void release() {
+        if (users == 0) return;
+        if (--users > 0) return;
+
+        tiles.clear();
+        animatedTiles.clear();
+        pipeTiles.clear();
+        straightPipeTiles.clear();
+        mossTiles = null;
+
+        AssetCache.release(TILE_ATLAS);
+        AssetCache.release(MOSS_TEXTURE);
+    }
+
+    /**
+     * @param random Picks the animated variant one time in ten, see {@link SeedStreams.Stage#DECORATION}
+     */
+    public static TiledMapTile getTile(int state, SplittableRandom random) {
+        if (random.nextDouble() > 0.9) {
             return animatedTiles.get(state);
         }
         return tiles.get(state);
@@ -113,133 +153,8 @@ public class TileLookup {
         return straightPipeTiles.get(key);
     }
 
-    public static Set<Line> getCollisionLines(int state, Point point, float tileWidthScaled, float tileHeightScaled) {
-        Set<Line> collisionVertexes = new HashSet<>();
-
-        switch (state) {
-            case 0: {
-            }
-            break;
-            case 1: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x, point.y + tileHeightScaled * 11 / 16f));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled * 0.5f, point.y));
-            }
-            break;
-            case 2: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled * 11 / 16f));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled * 0.5f, point.y));
-            }
-            break;
-            case 3: {
-                collisionVertexes.add(new Line(
-                    point.x, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled * 11 / 16f));
-            }
-            break;
-            case 4: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled));
-            }
-            break;
-            case 5: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled * 0.5f, point.y));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x, point.y + tileHeightScaled * 11 / 16f));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled));
-            }
-            break;
-            case 6: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled));
-            }
-            break;
-            case 7: {
-                collisionVertexes.add(new Line(
-                    point.x, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f));
-            }
-            break;
-            case 8: {
-                collisionVertexes.add(new Line(
-                    point.x, point.y + tileHeightScaled,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled));
-            }
-            break;
-            case 9: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled));
-            }
-            break;
-            case 10: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled * 11 / 16f));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled,
-                    point.x, point.y + tileHeightScaled));
-            }
-            break;
-            case 11: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled * 11 / 16f,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled * 11 / 16f));
-            }
-            break;
-            case 12: {
-                collisionVertexes.add(new Line(
-                    point.x, point.y + tileHeightScaled,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled));
-            }
-            break;
-            case 13: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled,
-                    point.x + tileWidthScaled, point.y + tileHeightScaled));
-            }
-            break;
-            case 14: {
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y,
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled));
-                collisionVertexes.add(new Line(
-                    point.x + tileWidthScaled * 0.5f, point.y + tileHeightScaled,
-                    point.x, point.y + tileHeightScaled));
-            }
-            break;
-            case 15: {
-                break;
-            }
-        }
-
-        return collisionVertexes;
+    public static TiledMapTile getMossTile(int index) {
+        return mossTiles[index];
     }
 
     public static Array<StaticTiledMapTile> toStaticTiles(TextureRegion[][] regions) {
@@ -0,0 +1,168 @@
+package com.mjolkster.artifice.core.world.generation;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Turns a {@link com.mjolkster.artifice.core.world.generation.LevelData LevelData} into a renderable
+ * {@link com.badlogic.gdx.maps.tiled.TiledMap TiledMap}. Must be called on the render thread.
+ */
+public class TiledMapBuilder {
+
+    private static final int TILE_LAYER = 0;
+    private static final int MOSS_LAYER = 1;
+
+    private TiledMapBuilder() {
+    }
+
+    public static TiledMap build(LevelData level) {
+        TileLookup.load();
+
+        TiledMap map = new TiledMap();
+        map.getLayers().add(buildTileLayer(level));
+        map.getLayers().add(buildMossLayer(level));
+        map.getLayers().add(buildPipeLayer(level));
+
+        return map;
+    }
+
+    /**
+     * An empty map for a chunked world, filled in with {@link #addChunk} as chunks are generated
+     *
+     * @param width  Width of the world in tiles
+     * @param height Height of the world in tiles
+     */
+    public static TiledMap buildChunked(int width, int height) {
+        TileLookup.load();
+
+        TiledMap map = new TiledMap();
+        map.getLayers().add(new TiledMapTileLayer(width, height, 32, 32));
+        map.getLayers().add(new TiledMapTileLayer(width, height, 32, 32));
+
+        return map;
+    }
+
+    /**
+     * Sets the chunk's cells on a map from {@link #buildChunked}
+     *
+     * @param decoration The chunk's decoration stream, from {@link SeedStreams#forChunk}
+     */
+    public static void addChunk(TiledMap map, ChunkData chunk, SplittableRandom decoration) {
+        TiledMapTileLayer tileLayer = (TiledMapTileLayer) map.getLayers().get(TILE_LAYER);
+        TiledMapTileLayer mossLayer = (TiledMapTileLayer) map.getLayers().get(MOSS_LAYER);
+
+        chunk.getTileStates().forEach((x, y, state) -> {
+            TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+            cell.setTile(TileLookup.getTile(state, decoration));
+            tileLayer.setCell(x, y, cell);
+        });
+
+        chunk.getMossMask().forEach((x, y, moss) -> {
+            if (moss == MossGenerator.NO_MOSS) return;
+
+            TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+            cell.setTile(TileLookup.getMossTile(moss));
+            mossLayer.setCell(x, y, cell);
+        });
+    }
+
+    /**
+     * Clears the chunk's cells from a map from {@link #buildChunked}, so they can be collected
+     */
+    public static void removeChunk(TiledMap map, ChunkData chunk) {
+        TiledMapTileLayer tileLayer = (TiledMapTileLayer) map.getLayers().get(TILE_LAYER);
+        TiledMapTileLayer mossLayer = (TiledMapTileLayer) map.getLayers().get(MOSS_LAYER);
+
+        chunk.getTileStates().forEach((x, y, state) -> {
+            tileLayer.setCell(x, y, null);
+            mossLayer.setCell(x, y, null);
+        });
+    }
+
+    private static TiledMapTileLayer buildTileLayer(LevelData level) {
+        TiledMapTileLayer layer = new TiledMapTileLayer(level.getWidth() + 2, level.getHeight() + 2,
+            level.getTileWidth(), level.getTileHeight());
+
+        SplittableRandom decoration = SeedStreams.forStage(level.getSeed(), SeedStreams.Stage.DECORATION);
+        ByteGrid tileStates = level.getTileStates();
+        tileStates.forEach((x, y, state) -> {
+            TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+            cell.setTile(TileLookup.getTile(state, decoration));
+            layer.setCell(x, y, cell);
+        });
+
+        return layer;
+    }
+
+    private static TiledMapTileLayer buildMossLayer(LevelData level) {
+        TiledMapTileLayer mossLayer = new TiledMapTileLayer(level.getWidth(), level.getHeight(), 32, 32);
+
+        level.getMossMask().forEach((x, y, moss) -> {
+            if (moss == MossGenerator.NO_MOSS) return;
+
+            TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+            cell.setTile(TileLookup.getMossTile(moss));
+            mossLayer.setCell(x, y, cell);
+        });
+
+        return mossLayer;
+    }
+
+    private static TiledMapTileLayer buildPipeLayer(LevelData level) {
+        TiledMapTileLayer pipeLayer = new TiledMapTileLayer(level.getWidth(), level.getHeight() + 20, 32, 32);
+
+        for (PipeRoute pipe : level.getPipes()) {
+            TiledMapTileLayer.Cell start = new TiledMapTileLayer.Cell();
+            start.setTile(TileLookup.getPipeTile(6).first);
+            pipeLayer.setCell(pipe.getStartX(), pipe.getStartY(), start);
+
+            int last = pipe.length() - 1;
+            for (int i = 0; i <= last; i++) {
+                TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+
+                if (i == last) {
+                    cell.setTile(TileLookup.getPipeTile(pipe.getDirection(i)).second);
+                } else {
+                    cell.setTile(TileLookup.getStraightPipeTile(adjustDirection(pipe.getDirection(i), pipe.getDirection(i + 1))));
+                }
+
+                pipeLayer.setCell(pipe.getX(i), pipe.getY(i), cell);
+            }
+        }
+
+        return pipeLayer;
+    }
+
+    /**
+     * Picks the canal tile for a step, bending it if the next step turns
+     */
+    private static DirectionOfTravel adjustDirection(DirectionOfTravel current, DirectionOfTravel next) {
+        // If current and next are different, it's a bend
+        if (current != next) {
+            if (current == DirectionOfTravel.NORTH && next == DirectionOfTravel.EAST)
+                return DirectionOfTravel.SOUTH_WEST;
+            if (current == DirectionOfTravel.EAST && next == DirectionOfTravel.NORTH)
+                return DirectionOfTravel.NORTH_EAST;
+
+            if (current == DirectionOfTravel.NORTH && next == DirectionOfTravel.WEST)
+                return DirectionOfTravel.SOUTH_EAST;
+            if (current == DirectionOfTravel.WEST && next == DirectionOfTravel.NORTH)
+                return DirectionOfTravel.NORTH_WEST;
+
+            if (current == DirectionOfTravel.SOUTH && next == DirectionOfTravel.EAST)
+                return DirectionOfTravel.NORTH_WEST;
+            if (current == DirectionOfTravel.EAST && next == DirectionOfTravel.SOUTH)
+                return DirectionOfTravel.SOUTH_EAST;
+
+            if (current == DirectionOfTravel.SOUTH && next == DirectionOfTravel.WEST)
+                return DirectionOfTravel.NORTH_EAST;
+            if (current == DirectionOfTravel.WEST && next == DirectionOfTravel.SOUTH)
+                return DirectionOfTravel.SOUTH_WEST;
+        }
+
+        // Otherwise keep the same
+        return current;
+    }
+}
@@ -18,8 +18,13 @@ import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.core.entities.enemy.BaseEnemy;
 import com.mjolkster.artifice.core.world.EntityManager;
 import com.mjolkster.artifice.core.world.GameMap;
+import com.mjolkster.artifice.core.world.LevelPrefetcher;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import com.mjolkster.artifice.core.world.generation.MapGenerator;
 import com.mjolkster.artifice.graphics.viewports.AspectRatioViewport;
 import com.mjolkster.artifice.graphics.viewports.ExpandingViewport;
+import com.mjolkster.artifice.io.AssetCache;
+import com.mjolkster.artifice.io.AssetManifest;
 import com.mjolkster.artifice.io.FileHandler;
 import com.mjolkster.artifice.util.combat.DamageIndicatorManager;
 
@@ -57,22 +62,67 @@ public class GameScreen implements Screen {
     private boolean showHitBox = false;
     private boolean showLighting = true;
     private final boolean bossLevel;
+    private final boolean chunked;
 
     private boolean restartRequested = false;
     private boolean restartRequestedWithBoss = false;
+    private boolean saveOnRestart = false;
+
+    // Size of the world in chunked mode
+    public static final int CHUNKS_WIDE = 16;
+    public static final int CHUNKS_HIGH = 4;
+
+    // In place of a level seed, for a fresh level
+    private static final long NEXT_LEVEL = -1;
 
     public GameScreen(GameClass game, int slotNumber, boolean bossLevel) {
+        this(game, slotNumber, bossLevel, false);
+    }
+
+    /**
+     * @param chunked Whether to play a large streamed world instead of a single generated level
+     */
+    public GameScreen(GameClass game, int slotNumber, boolean bossLevel, boolean chunked) {
+        this(game, slotNumber, bossLevel, chunked, NEXT_LEVEL, false);
+    }
+
+    /**
+     * Picks a run back up on the level it was saved on, rebuilt from its seed
+     *
+     * @param save From {@link FileHandler#loadLevelSave}
+     */
+    public static GameScreen resume(GameClass game, int slotNumber, FileHandler.Save save) {
+        FileHandler.saveTemp(slotNumber, save);
+        return new GameScreen(game, slotNumber, save.bossLevel, save.chunked, save.currentWorldSeed, false);
+    }
+
+    /**
+     * @param levelSeed Seed of the level to play, or {@link #NEXT_LEVEL} for a fresh one
+     * @param save      Whether to save the run on this level as it is entered, so it resumes here
+     */
+    private GameScreen(GameClass game, int slotNumber, boolean bossLevel, boolean chunked, long levelSeed,
+                       boolean save) {
         GameScreen.game = game;
         playerSlotNumber = slotNumber;
         this.bossLevel = bossLevel;
+        this.chunked = chunked;
 
         // Camera and viewport
         camera = new OrthographicCamera();
         viewport = new AspectRatioViewport(6f, camera);
 
         // Map
-        seed = (long) (Math.random() * 4000000);
-        gameMap = new GameMap(seed, bossLevel);
+        if (chunked) {
+            seed = levelSeed == NEXT_LEVEL ? LevelPrefetcher.newSeed() : levelSeed;
+            gameMap = new GameMap(seed, CHUNKS_WIDE, CHUNKS_HIGH);
+        } else {
+            // A saved level is loaded back from the level cache when it was stored there
+            LevelData levelData = levelSeed == NEXT_LEVEL
+                ? game.levelPrefetcher.take(bossLevel)
+                : MapGenerator.generateLevel(levelSeed, bossLevel);
+            seed = levelData.getSeed();
+            gameMap = new GameMap(levelData);
+        }
 
         // Rendering
         spriteBatch = new SpriteBatch();
@@ -82,7 +132,7 @@ public class GameScreen implements Screen {
         debugRenderer = new Box2DDebugRenderer(true, false, false, false, false, false);
 
         // UI
-        skin = new Skin(Gdx.files.internal("GUI/GUISkin.json"));
+        skin = AssetCache.get(AssetManifest.GUI_SKIN, Skin.class);
         skin.getFont("def").getData().markupEnabled = true;
 
         Viewport uiViewport = new ExpandingViewport(90f, true, new OrthographicCamera());
@@ -92,7 +142,20 @@ public class GameScreen implements Screen {
         entityManager = new EntityManager(gameMap, slotNumber, this, bossLevel);
         hud = new PlayerHUD(entityManager.getPlayer(), this);
 
-        DamageIndicatorManager.init(stage, new BitmapFont(Gdx.files.internal("GUI/default.fnt")), 2f);
+        // Saved on entering rather than on leaving the last level, so the save resumes on this one. Only saved levels
+        // are cached, a chunked world has no level data and is generated around the player again.
+        if (save && FileHandler.CreateNewSave(entityManager.getPlayer(), seed, bossLevel, chunked, slotNumber)) {
+            game.levelPrefetcher.cacheSavedLevel(gameMap.getLevelData());
+        }
+
+        // Start on the next level while this one is played, every fifth round is a boss. A normal level is always
+        // kept ready as well, for restarts.
+        if (!chunked) {
+            if (entityManager.getPlayer().roundsPassed % 5 == 4) game.levelPrefetcher.prefetch(true);
+            game.levelPrefetcher.prefetch(false);
+        }
+
+        DamageIndicatorManager.init(stage, AssetCache.get(AssetManifest.DAMAGE_FONT, BitmapFont.class), 2f);
 
         Gdx.app.log("GameScreen", "Initialisation complete");
     }
@@ -104,7 +167,7 @@ public class GameScreen implements Screen {
         if (restartRequested) {
             restartRequested = false;
             FileHandler.saveTemp(playerSlotNumber, entityManager.getPlayer());
-            GameScreen newScreen = new GameScreen(game, playerSlotNumber, false);
+            GameScreen newScreen = new GameScreen(game, playerSlotNumber, false, chunked, NEXT_LEVEL, saveOnRestart);
             game.setScreen(newScreen);
             dispose();
             return;
@@ -113,7 +176,7 @@ public class GameScreen implements Screen {
         if (restartRequestedWithBoss) {
             restartRequestedWithBoss = false;
             FileHandler.saveTemp(playerSlotNumber, entityManager.getPlayer());
-            GameScreen newScreen = new GameScreen(game, playerSlotNumber, true);
+            GameScreen newScreen = new GameScreen(game, playerSlotNumber, true, chunked, NEXT_LEVEL, saveOnRestart);
             game.setScreen(newScreen);
             dispose();
             return;
@@ -131,6 +194,8 @@ public class GameScreen implements Screen {
         handleInput();
 
         if (!paused) {
+            PlayableCharacter player = entityManager.getPlayer();
+            gameMap.update(player.x + 0.5f, player.y + 0.5f);
             gameMap.step(delta);
             entityManager.update(delta, camera, gameMap.getCollisionBoxes());
         } else {
@@ -213,7 +278,6 @@ public class GameScreen implements Screen {
         spriteBatch.dispose();
         shape.dispose();
         stage.dispose();
-        skin.dispose();
         font.dispose();
         hud.dispose();
     }
@@ -230,6 +294,20 @@ public class GameScreen implements Screen {
     public void requestRestartWithBoss() { restartRequestedWithBoss = true; }
     public void requestClose() { closeRequested = true; }
 
+    /**
+     * Moves on to a fresh level through the exit, saving the run once it is entered
+     *
+     * @param boss Whether the next level is a boss level
+     */
+    public void requestNextLevel(boolean boss) {
+        saveOnRestart = true;
+        if (boss) {
+            requestRestartWithBoss();
+        } else {
+            requestRestart();
+        }
+    }
+
     public PlayerHUD getHud() { return hud; }
     public Stage getStage() { return stage; }
 
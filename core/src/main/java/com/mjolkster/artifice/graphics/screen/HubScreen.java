@@ -8,7 +8,6 @@ import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.controllers.Controller;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
@@ -24,13 +23,14 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 import com.mjolkster.artifice.core.GameClass;
 import com.mjolkster.artifice.core.entities.Archetype;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
-import com.mjolkster.artifice.core.world.generation.LineHandler;
 import com.mjolkster.artifice.graphics.viewports.AspectRatioViewport;
 import com.mjolkster.artifice.graphics.viewports.ExpandingViewport;
+import com.mjolkster.artifice.io.OutlineFile;
 import com.mjolkster.artifice.io.input.ControllerInputHandler;
 import com.mjolkster.artifice.io.input.HybridInputHandler;
 import com.mjolkster.artifice.io.input.InputHandler;
-import com.mjolkster.artifice.util.geometry.Line;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
 
 import java.util.*;
 
@@ -49,8 +49,8 @@ public class HubScreen implements Screen {
 
     // Map
     private final Texture hubBackground;
-    private final Set<Line> rawHubCollisions = new HashSet<>();
-    private final Set<Line> hubCollisions = new HashSet<>();
+    private final OutlineSet hubOutlines;
+    private final SegmentBuffer hubCollisions;
     private final Ellipse holeHitbox;
 
     // Lighting / physics (kept simple, optional)
@@ -69,6 +69,9 @@ public class HubScreen implements Screen {
     public HubScreen(final GameClass game) {
         this.game = game;
 
+        // The dungeon is entered from here, so start on its first level while the player walks to the hole
+        game.levelPrefetcher.prefetch(false);
+
         // Camera & viewport
         camera = new OrthographicCamera();
         viewport = new AspectRatioViewport(6f, camera);
@@ -77,14 +80,14 @@ public class HubScreen implements Screen {
 
         // Load hub background PNG (e.g. assets/maps/hub.png)
         hubBackground = new Texture(Gdx.files.internal("HubMap.png"));
-        loadCollisionMask("HubCollisions.png");
+        hubOutlines = loadCollisionMask("HubCollisions.png");
+        hubCollisions = SegmentBuffer.of(hubOutlines);
         holeHitbox = new Ellipse(22 + 25/32f, 11 + 6/32f, 206/32f, 124/32f);
 
         // World + lighting
         debugRenderer = new Box2DDebugRenderer(true, false, false, false, false, false);
         world = new World(new Vector2(0, -9.8f), true);
-        List<List<Vector2>> outlines = LineHandler.orderOutline(hubCollisions);
-        createBodiesFromPolygons(world, outlines);
+        createBodiesFromPolygons(world, hubOutlines);
         rayHandler = new RayHandler(world);
         rayHandler.setAmbientLight(0.2f);
         rayHandler.setBlur(true);
@@ -105,7 +108,7 @@ public class HubScreen implements Screen {
     }
 
     // Replace with real save/slot logic later
-    private static int saveSlot() {
+    static int saveSlot() {
         return 0;
     }
 
@@ -196,6 +199,10 @@ public class HubScreen implements Screen {
         if (Gdx.input.isKeyJustPressed(Input.Keys.G)) {
             requestRestart();
         }
+        // Into a large world streamed in chunks around the player, instead of a single level
+        if (Gdx.input.isKeyJustPressed(Input.Keys.C)) {
+            enterDungeon(true);
+        }
 
         if (inputHandler.isController() && inputHandler instanceof HybridInputHandler) {
             ControllerInputHandler controller = ((HybridInputHandler) inputHandler).getControllerHandler();
@@ -205,111 +212,15 @@ public class HubScreen implements Screen {
         }
     }
 
-    private void loadCollisionMask(String maskPath) {
-        Pixmap mask = new Pixmap(Gdx.files.internal(maskPath));
-
-        int width = mask.getWidth();
-        int height = mask.getHeight();
-
-        Gdx.app.log("HubScreen", "Loading collision mask: " + maskPath);
-        Gdx.app.log("HubScreen", "Mask size: " + width + "x" + height);
-
-        int solidCount = 0;
-
-        // Step 1: collect horizontal runs for each row
-        List<List<int[]>> runsPerRow = new ArrayList<>();
-        for (int y = 0; y < height; y++) {
-            List<int[]> runs = new ArrayList<>();
-            int runStart = -1;
-
-            for (int x = 0; x < width; x++) {
-                int pixel = mask.getPixel(x, y);
-                Color c = new Color(pixel);
-
-                boolean solid = (c.r == 0 && c.g == 0 && c.b == 0);
-                if (solid) solidCount++;
-
-                if (solid && runStart == -1) {
-                    runStart = x;
-                } else if ((!solid || x == width - 1) && runStart != -1) {
-                    int runEnd = solid ? x : x - 1;
-                    runs.add(new int[]{runStart, runEnd});
-                    runStart = -1;
-                }
-            }
-
-            runsPerRow.add(runs);
-        }
-
-        mask.dispose();
-
-        Gdx.app.log("HubScreen", "Solid pixels found: " + solidCount);
-
-        // Step 2: vertical merge into rectangles
-        List<int[]> rectangles = new ArrayList<>(); // {x1, x2, yStart, yEnd}
-        Map<String, int[]> activeRuns = new HashMap<>();
-
-        for (int y = 0; y < height; y++) {
-            Map<String, int[]> newActiveRuns = new HashMap<>();
-
-            for (int[] run : runsPerRow.get(y)) {
-                String key = run[0] + ":" + run[1];
-
-                if (activeRuns.containsKey(key)) {
-                    // Extend existing rectangle
-                    int[] rect = activeRuns.get(key);
-                    rect[3] = y; // extend yEnd
-                    newActiveRuns.put(key, rect);
-                } else {
-                    // Start new rectangle
-                    int[] rect = new int[]{run[0], run[1], y, y};
-                    newActiveRuns.put(key, rect);
-                }
-            }
-
-            // Finalize runs that did not continue
-            for (int[] rect : activeRuns.values()) {
-                if (!newActiveRuns.containsValue(rect)) {
-                    rectangles.add(rect);
-                }
-            }
-
-            activeRuns = newActiveRuns;
-        }
-
-        // Flush remaining active rectangles
-        rectangles.addAll(activeRuns.values());
-
-        Gdx.app.log("HubScreen", "Merged rectangles: " + rectangles.size());
-
-        // Step 3: convert rectangles into Lines
-        for (int[] rect : rectangles) {
-            float x1 = (float) rect[0] / 32f;
-            float x2 = (float) (rect[1] + 1) / 32f;
-            float y1 = (float) (height - rect[2]) / 32f;
-            float y2 = (float) (height - rect[3] - 1) / 32f;
+    /**
+     * Loads the outlines baked from the collision mask by the bakeCollisions task
+     */
+    private OutlineSet loadCollisionMask(String maskPath) {
+        OutlineSet outlines = OutlineFile.load(Gdx.files.internal(OutlineFile.bakedPath(maskPath)));
 
-            // Add 4 edges
-            rawHubCollisions.add(new Line(x1, y1, x2, y1)); // top
-            rawHubCollisions.add(new Line(x2, y1, x2, y2)); // right
-            rawHubCollisions.add(new Line(x2, y2, x1, y2)); // bottom
-            rawHubCollisions.add(new Line(x1, y2, x1, y1)); // left
-        }
-
-        Gdx.app.log("HubScreen", "Raw hub collision lines (rects expanded): " + rawHubCollisions.size());
-
-        // Step 4: outline + simplify if needed
-        List<List<Vector2>> outlines = LineHandler.orderOutline(rawHubCollisions);
-        List<List<Vector2>> simplifiedOutlines = new ArrayList<>();
-        for (List<Vector2> outline : outlines) {
-            simplifiedOutlines.add(LineHandler.unifySegments(outline, 0.01));
-        }
-        for (List<Vector2> outline : simplifiedOutlines) {
-            hubCollisions.addAll(LineHandler.reconstructLines(outline));
-        }
-
-        Gdx.app.log("HubScreen", "Outlines found: " + outlines.size());
-        Gdx.app.log("HubScreen", "Final hub collision lines: " + hubCollisions.size());
+        Gdx.app.log("HubScreen", "Loaded " + outlines.size() + " outlines, "
+            + outlines.totalSegments() + " collision lines for " + maskPath);
+        return outlines;
     }
 
     private boolean rectOverlapsEllipse(Rectangle rect, Ellipse ellipse) {
@@ -331,17 +242,22 @@ public class HubScreen implements Screen {
         return (nx * nx + ny * ny) <= 1f; // inside ellipse
     }
 
-    public List<Body> createBodiesFromPolygons(World world, List<List<Vector2>> polygons) {
+    public List<Body> createBodiesFromPolygons(World world, OutlineSet outlines) {
         List<Body> bodies = new ArrayList<>();
+        Vector2 current = new Vector2();
+        Vector2 next = new Vector2();
 
-        for (List<Vector2> loop : polygons) {
+        for (int outline = 0; outline < outlines.size(); outline++) {
             BodyDef bodyDef = new BodyDef();
             bodyDef.type = BodyDef.BodyType.StaticBody;
             Body body = world.createBody(bodyDef);
 
-            for (int i = 0; i < loop.size(); i++) {
-                Vector2 current = loop.get(i);
-                Vector2 next = loop.get((i + 1) % loop.size());
+            int points = outlines.pointCount(outline);
+
+            for (int i = 0; i < outlines.segmentCount(outline); i++) {
+                int following = (i + 1) % points;
+                current.set(outlines.getX(outline, i), outlines.getY(outline, i));
+                next.set(outlines.getX(outline, following), outlines.getY(outline, following));
 
                 if (current.epsilonEquals(next, 0.001f)) {
                     continue;
@@ -393,12 +309,20 @@ public class HubScreen implements Screen {
     }
 
     public void requestRestart() {
+        enterDungeon(false);
+    }
+
+    /**
+     * @param chunked Whether to enter a streamed chunked world rather than a single generated level
+     */
+    private void enterDungeon(boolean chunked) {
+        if (restartRequested) return;
         restartRequested = true;
         if (player != null) {
             this.player.sprite.dispose();
             this.player = null;
         }
-        game.setScreen(new GameScreen(game, saveSlot(), false));
+        game.setScreen(new GameScreen(game, saveSlot(), false, chunked));
         Gdx.app.postRunnable(this::dispose);
     }
 
@@ -16,12 +16,16 @@ import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.mjolkster.artifice.core.GameClass;
 import com.mjolkster.artifice.graphics.viewports.ExpandingViewport;
+import com.mjolkster.artifice.io.AssetCache;
+import com.mjolkster.artifice.io.AssetManifest;
+import com.mjolkster.artifice.io.FileHandler;
 
 public class MainMenuScreen implements Screen {
 
     private final GameClass game;
     private final Stage stage;
     private final Texture backgroundTexture;
+    private TextButton play;
 
     public MainMenuScreen(final GameClass game) {
         this.game = game;
@@ -33,8 +37,8 @@ public class MainMenuScreen implements Screen {
 
         game.font.getData().setScale(0.03f);
 
-        // load your flat background texture
-        backgroundTexture = new Texture(Gdx.files.internal("GUI/MainMenu.png"));
+        // Loaded before the menu is shown, the rest of the manifest streams in behind it
+        backgroundTexture = AssetCache.get(AssetManifest.MAIN_MENU_BACKGROUND, Texture.class);
 
         createGUI();
     }
@@ -49,12 +53,18 @@ public class MainMenuScreen implements Screen {
     public void render(float delta) {
         ScreenUtils.clear(Color.BLACK);
 
+        if (game.updateLoading()) {
+            play.setText("Play");
+        } else {
+            play.setText("Loading " + (int) (AssetCache.getProgress() * 100) + "%");
+        }
+
         stage.act(delta);
         stage.draw();
     }
 
     private void createGUI() {
-        Skin skin = new Skin(Gdx.files.internal("GUI/GUISkin.json"));
+        Skin skin = AssetCache.get(AssetManifest.GUI_SKIN, Skin.class);
         stage.clear();
 
         // Background image
@@ -68,18 +78,39 @@ public class MainMenuScreen implements Screen {
         table.center(); // center on screen
         stage.addActor(table);
 
-        TextButton play = new TextButton("Play", skin, "transparent");
+        play = new TextButton("Loading", skin, "transparent");
         TextButton options = new TextButton("Options", skin, "transparent");
         TextButton quit = new TextButton("Quit", skin, "transparent");
 
         // Add with spacing
         table.add(play).width(158).height(53).padTop(310).padBottom(32).row();
+
+        // Only offered when a run was saved partway through the dungeon
+        if (FileHandler.hasLevelSave(HubScreen.saveSlot())) {
+            TextButton resume = new TextButton("Continue", skin, "transparent");
+            table.add(resume).width(158).height(53).padBottom(32).row();
+
+            resume.addListener(event -> {
+                if (event.toString().equals("touchDown")) {
+                    game.finishLoading();
+                    FileHandler.Save save = FileHandler.loadLevelSave(HubScreen.saveSlot());
+                    game.setScreen(save != null
+                        ? GameScreen.resume(game, HubScreen.saveSlot(), save)
+                        : new HubScreen(game));
+                    dispose();
+                    return true;
+                }
+                return false;
+            });
+        }
+
         table.add(options).width(158).height(53).padBottom(32).row();
         table.add(quit).width(158).height(53).padBottom(50).row();
 
         // Add listeners
         play.addListener(event -> {
             if (event.toString().equals("touchDown")) {
+                game.finishLoading();
                 game.setScreen(new HubScreen(game));
                 dispose();
                 return true;
@@ -109,7 +140,6 @@ public class MainMenuScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        backgroundTexture.dispose();
     }
 
     @Override
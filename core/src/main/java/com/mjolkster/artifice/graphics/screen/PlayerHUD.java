@@ -17,6 +17,8 @@ import com.badlogic.gdx.utils.Align;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.core.items.ConsumableItem;
 import com.mjolkster.artifice.core.items.Item;
+import com.mjolkster.artifice.io.AssetCache;
+import com.mjolkster.artifice.io.AssetManifest;
 import com.mjolkster.artifice.registry.RegistryManager;
 
 import java.util.ArrayList;
@@ -100,7 +102,7 @@ public class PlayerHUD {
             }
         });
 
-        this.skin = new Skin(Gdx.files.internal("GUI/GUISkin.json"));
+        this.skin = AssetCache.get(AssetManifest.GUI_SKIN, Skin.class);
         this.font = new BitmapFont();
 
         //  FPS Label ---
@@ -263,7 +265,6 @@ public class PlayerHUD {
 
     public void dispose() {
         stage.dispose();
-        skin.dispose();
         font.dispose();
     }
 
@@ -15,13 +15,11 @@ import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.core.world.EntityManager;
-import com.mjolkster.artifice.core.world.generation.LineHandler;
 import com.mjolkster.artifice.graphics.viewports.AspectRatioViewport;
-import com.mjolkster.artifice.util.geometry.Line;
-import com.mjolkster.artifice.core.world.generation.MapGenerator;
+import com.mjolkster.artifice.io.OutlineFile;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * A sublevel is a self-contained TMX map that the player
@@ -40,7 +38,7 @@ public class SublevelScreen implements Screen {
 
     private final SpriteBatch spriteBatch;
 
-    private final Set<Line> collisionBoxes;
+    private final SegmentBuffer collisionBoxes;
 
     private final Box2DDebugRenderer debugRenderer;
 
@@ -65,9 +63,8 @@ public class SublevelScreen implements Screen {
         this.playerLight.setDistance(5f);
         this.playerLight.setSoft(true);
 
-        // Load collision from TMX
-        this.collisionBoxes = MapGenerator.loadCollisionLinesFromMap(map);
-        List<List<Vector2>> outlines = LineHandler.orderOutline(collisionBoxes);
+        // Collisions are baked from the TMX's Collisions layer at build time
+        this.collisionBoxes = SegmentBuffer.of(OutlineFile.load(Gdx.files.internal(OutlineFile.bakedPath(tmxPath))));
 
         // TODO: place player at sublevel spawnpoint (parse from object layer)
         entityManager.getPlayer().x = 5;
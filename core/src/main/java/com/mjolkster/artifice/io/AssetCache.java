@@ -0,0 +1,122 @@
+package com.mjolkster.artifice.io;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.mjolkster.artifice.util.data.ItemLocalization;
+
+/**
+ * One {@link AssetManager} shared by the whole game, so a texture or atlas used by several levels, entities or
+ * attacks is decoded and uploaded once. Every {@link #acquire} must be paired with a {@link #release}; an asset is
+ * disposed when its last user releases it. Must be used on the render thread.
+ * <p>
+ * Assets can also be queued with {@link #preload} and loaded a slice at a time by {@link #update}: files are read
+ * and decoded on the manager's loader thread and only the GPU upload happens here.
+ */
+public class AssetCache {
+
+    private static AssetManager manager;
+
+    private AssetCache() {
+    }
+
+    /**
+     * Returns the asset, loading it on the calling thread if no one else holds it
+     *
+     * @param path Internal path of the asset
+     * @param type The asset's class, e.g. {@link com.badlogic.gdx.graphics.Texture Texture}
+     */
+    public static synchronized <T> T acquire(String path, Class<T> type) {
+        AssetManager assets = getManager();
+        if (assets.isLoaded(path, type)) {
+            assets.setReferenceCount(path, assets.getReferenceCount(path) + 1);
+        } else {
+            assets.load(path, type);
+            assets.finishLoadingAsset(path);
+        }
+        return assets.get(path, type);
+    }
+
+    /**
+     * Queues the asset to be loaded by {@link #update}, taking a hold on it once it is
+     */
+    public static synchronized void preload(AssetDescriptor<?> asset) {
+        getManager().load(asset);
+    }
+
+    /**
+     * Drives the queued loads for up to the given time
+     *
+     * @return Whether everything queued has finished loading
+     */
+    public static synchronized boolean update(int millis) {
+        return getManager().update(millis);
+    }
+
+    /**
+     * Blocks until one queued asset has loaded, for what the next frame can't be drawn without
+     */
+    public static synchronized void finishLoading(String path) {
+        getManager().finishLoadingAsset(path);
+    }
+
+    /**
+     * Blocks until everything queued has loaded
+     */
+    public static synchronized void finishLoading() {
+        getManager().finishLoading();
+    }
+
+    /**
+     * Share of the queued assets loaded so far, from 0 to 1
+     */
+    public static synchronized float getProgress() {
+        return getManager().getProgress();
+    }
+
+    /**
+     * Looks up a loaded asset without taking a hold, for those {@link AssetManifest} holds for the session
+     */
+    public static synchronized <T> T get(String path, Class<T> type) {
+        return getManager().get(path, type);
+    }
+
+    /**
+     * Gives up one hold on the asset, disposing it if that was the last
+     */
+    public static synchronized void release(String path) {
+        AssetManager assets = getManager();
+        if (!assets.isLoaded(path)) {
+            Gdx.app.error("AssetCache", "Released " + path + " which isn't loaded");
+            return;
+        }
+        assets.unload(path);
+    }
+
+    public static synchronized boolean isLoaded(String path) {
+        return manager != null && manager.isLoaded(path);
+    }
+
+    public static synchronized int getReferenceCount(String path) {
+        return isLoaded(path) ? manager.getReferenceCount(path) : 0;
+    }
+
+    public static synchronized AssetManager getManager() {
+        if (manager == null) {
+            manager = new AssetManager();
+            manager.setLoader(ItemLocalization.class,
+                new ItemLocalizationLoader(manager.getFileHandleResolver()));
+        }
+        return manager;
+    }
+
+    /**
+     * Disposes everything still held, at shutdown
+     */
+    public static synchronized void dispose() {
+        if (manager != null) {
+            manager.dispose();
+            manager = null;
+        }
+    }
+}
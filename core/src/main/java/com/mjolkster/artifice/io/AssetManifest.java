@@ -0,0 +1,72 @@
+package com.mjolkster.artifice.io;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.mjolkster.artifice.util.data.ItemLocalization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the game needs before the first level, queued on the {@link AssetCache} at startup and decoded in the
+ * background while the main menu is up. The manifest keeps one hold on each entry for the whole session, so screens
+ * can look these up by key with {@link AssetCache#get} and must not dispose them.
+ */
+public class AssetManifest {
+
+    // Needed for the menu's first frame, finished before it is shown
+    public static final String GUI_SKIN = "GUI/GUISkin.json";
+    public static final String MAIN_MENU_BACKGROUND = "GUI/MainMenu.png";
+
+    public static final String DAMAGE_FONT = "GUI/default.fnt";
+    public static final String ITEMS_ATLAS = "items.atlas";
+    public static final String FIGHTER_ATLAS = "fighter_sprites.atlas";
+
+    private static final List<AssetDescriptor<?>> ENTRIES = new ArrayList<>();
+    private static boolean queued;
+
+    static {
+        add(GUI_SKIN, Skin.class);
+        add(MAIN_MENU_BACKGROUND, Texture.class);
+        add(DAMAGE_FONT, BitmapFont.class);
+        add(ITEMS_ATLAS, TextureAtlas.class);
+        add(ItemLocalization.FILE, ItemLocalization.class);
+        add(FIGHTER_ATLAS, TextureAtlas.class);
+
+        // Level and entity sheets, so the first level doesn't stall on them
+        add("tiles.atlas", TextureAtlas.class);
+        add("mosstexture.png", Texture.class);
+        add("endpoint.png", Texture.class);
+        add("SpriteSheet.png", Texture.class);
+        add("SlimeTest.png", Texture.class);
+        add("wasp.png", Texture.class);
+        add("ChestSprite.png", Texture.class);
+        add("campfire.png", Texture.class);
+    }
+
+    private AssetManifest() {
+    }
+
+    /**
+     * Queues every entry, once; call {@link AssetCache#update} each frame to drive the load
+     */
+    public static synchronized void queue() {
+        if (queued) return;
+        for (AssetDescriptor<?> entry : ENTRIES) {
+            AssetCache.preload(entry);
+        }
+        queued = true;
+    }
+
+    public static List<AssetDescriptor<?>> getEntries() {
+        return Collections.unmodifiableList(ENTRIES);
+    }
+
+    private static <T> void add(String path, Class<T> type) {
+        ENTRIES.add(new AssetDescriptor<>(path, type));
+    }
+}
@@ -3,9 +3,13 @@ package com.mjolkster.artifice.io;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
 import com.mjolkster.artifice.core.entities.Archetype;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
 import com.mjolkster.artifice.core.items.Item;
+import com.mjolkster.artifice.registry.RegistryManager;
 
 import java.io.File;
 import java.io.IOException;
@@ -17,6 +21,18 @@ public class FileHandler {
     public static ArrayList<SaveSlot> tempSlots = new ArrayList<>(Arrays.asList(null, null, null));
 
     public static boolean CreateNewSave(PlayableCharacter player, long seed, int slotNumber) {
+        return CreateNewSave(player, seed, false, false, slotNumber);
+    }
+
+    /**
+     * Saves the run on the level it will resume on, see {@link #loadLevelSave}
+     *
+     * @param seed      Seed of the level
+     * @param bossLevel Whether the level is a boss level
+     * @param chunked   Whether the level is a chunked world
+     */
+    public static boolean CreateNewSave(PlayableCharacter player, long seed, boolean bossLevel, boolean chunked,
+                                        int slotNumber) {
         final int MAX_SLOTS = 3;
 
         if (slotNumber < 0 || slotNumber >= MAX_SLOTS) {
@@ -28,6 +44,8 @@ public class FileHandler {
         newSave.tempInv = player.invTemp.getContents();
         newSave.permanentInv = player.invPerm.getContents();
         newSave.currentWorldSeed = seed;
+        newSave.bossLevel = bossLevel;
+        newSave.chunked = chunked;
         newSave.archetype = player.archetype;
         newSave.roundsPassed = player.roundsPassed;
 
@@ -91,6 +109,96 @@ public class FileHandler {
         return slots;
     }
 
+    /**
+     * Seeds of the levels the saved slots resume on, see {@link LevelCache#prune}
+     */
+    public static List<Long> getSavedSeeds() {
+        List<Long> seeds = new ArrayList<>();
+        final int MAX_SLOTS = 3;
+
+        for (int i = 0; i < MAX_SLOTS; i++) {
+            JsonValue saveData = readLevelSave(i);
+            if (saveData != null) {
+                seeds.add(saveData.getLong("currentWorldSeed", 0));
+            }
+        }
+        return seeds;
+    }
+
+    /**
+     * Whether the slot holds a run saved on a level, rather than a new character from the hub
+     */
+    public static boolean hasLevelSave(int slotNumber) {
+        return readLevelSave(slotNumber) != null;
+    }
+
+    /**
+     * Loads a run saved on a level so it can be resumed there. Items are looked up by name in the item registry,
+     * so it must have been initialised.
+     *
+     * @return The save, or null if the slot has no run on a level or it can't be read
+     */
+    public static Save loadLevelSave(int slotNumber) {
+        JsonValue saveData = readLevelSave(slotNumber);
+        if (saveData == null) return null;
+
+        try {
+            Save save = new Save();
+            save.health = saveData.getFloat("health", 0);
+            save.tempInv = readItems(saveData.get("tempInv"));
+            save.permanentInv = readItems(saveData.get("permanentInv"));
+            save.currentWorldSeed = saveData.getLong("currentWorldSeed", 0);
+            save.bossLevel = saveData.getBoolean("bossLevel", false);
+            save.chunked = saveData.getBoolean("chunked", false);
+            save.archetype = Archetype.valueOf(saveData.getString("archetype"));
+            save.roundsPassed = saveData.getInt("roundsPassed");
+            return save;
+        } catch (IllegalArgumentException e) {
+            Gdx.app.log("FileHandler: Error", "Couldn't load save in slot " + slotNumber + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The save data of a slot as a tree, so it can be read without building the items in it. Fields left at their
+     * default are not written, so are read with it. Hub saves are on round 0 and have no level.
+     *
+     * @return The save data, or null if there is no run saved on a level
+     */
+    private static JsonValue readLevelSave(int slotNumber) {
+        FileHandle file = Gdx.files.local("saves/slot_" + slotNumber + ".json");
+        if (!file.exists()) return null;
+
+        try {
+            JsonValue saveData = new JsonReader().parse(file).get("saveData");
+            if (saveData == null || saveData.getInt("roundsPassed", 0) <= 0) return null;
+            return saveData;
+        } catch (SerializationException e) {
+            Gdx.app.log("FileHandler: Error", "Couldn't read save in slot " + slotNumber + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Item> readItems(JsonValue items) {
+        List<Item> result = new ArrayList<>();
+        if (items == null) return result;
+
+        for (JsonValue item = items.child; item != null; item = item.next) {
+            String name = item.isNull() ? null : item.getString("itemName", null);
+            if (name == null) {
+                result.add(null);
+                continue;
+            }
+
+            Item registered = RegistryManager.ITEMS.get(name);
+            if (registered == null) {
+                throw new IllegalArgumentException("Unknown item " + name);
+            }
+            result.add(registered);
+        }
+        return result;
+    }
+
     public static boolean deleteSave(int slotNumber) {
         FileHandle file = Gdx.files.local("saves/slot_" + slotNumber + ".json");
         if (file.exists()) {
@@ -114,11 +222,25 @@ public class FileHandler {
         tempSlots.set(slotNumber, saveSlot);
     }
 
+    /**
+     * Hands a loaded save to the next screen, as {@link #saveTemp(int, PlayableCharacter)} does between levels
+     */
+    public static void saveTemp(int slotNumber, Save saveData) {
+        SaveSlot saveSlot = new SaveSlot();
+        saveSlot.slotNumber = slotNumber;
+        saveSlot.saveData = saveData;
+
+        tempSlots.set(slotNumber, saveSlot);
+    }
+
     public static class Save {
         public float health;
         public List<Item> tempInv;
         public List<Item> permanentInv;
         public long currentWorldSeed;
+        // The kind of level currentWorldSeed is, so it is rebuilt the same way
+        public boolean bossLevel;
+        public boolean chunked;
         public Archetype archetype;
         public int roundsPassed;
     }
@@ -0,0 +1,45 @@
+package com.mjolkster.artifice.io;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.mjolkster.artifice.util.data.ItemLocalization;
+
+/**
+ * Reads and parses the item strings on the {@link AssetManager}'s loader thread; there is nothing to upload, so the
+ * render thread only picks up the result.
+ */
+public class ItemLocalizationLoader
+    extends AsynchronousAssetLoader<ItemLocalization, ItemLocalizationLoader.Parameters> {
+
+    private ItemLocalization localization;
+
+    public ItemLocalizationLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        localization = new ItemLocalization(file.readString("UTF-8"));
+    }
+
+    @Override
+    public ItemLocalization loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        ItemLocalization result = localization;
+        localization = null;
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        return null;
+    }
+
+    public static class Parameters extends AssetLoaderParameters<ItemLocalization> {
+    }
+}
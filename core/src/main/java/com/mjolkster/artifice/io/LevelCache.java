@@ -0,0 +1,255 @@
+package com.mjolkster.artifice.io;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Vector2;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import com.mjolkster.artifice.core.world.generation.MapGenerator;
+import com.mjolkster.artifice.core.world.generation.PipeRoute;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches generated {@link LevelData} on disk, keyed by seed, size and {@link MapGenerator#GENERATOR_VERSION},
+ * so that a known seed can be loaded back without generating it again.
+ * Only levels a save points at are stored, and {@link #prune} drops the rest, so the cache stays a handful of files.
+ * Files are a flat binary layout read back in one pass.
+ */
+public class LevelCache {
+
+    private static final String CACHE_DIR = "saves/levels";
+    private static final int MAGIC = 0x4152544C; // "ARTL"
+    private static final int FORMAT_VERSION = 2;
+
+    // Backstop on the number of files kept, least recently used go first
+    private static final int MAX_LEVELS = 8;
+
+    private static final Pattern FILE_NAME = Pattern.compile("level_(-?\\d+)_\\d+x\\d+_v(\\d+)\\.bin");
+
+    /**
+     * @return The cached level, or null if there is none or it can't be read
+     */
+    public static LevelData load(long seed, int width, int height) {
+        File file = fileFor(seed, width, height);
+        if (!file.isFile()) return null;
+
+        LevelData level;
+        // Read into the heap rather than mapped, so the file can be deleted straight after on every platform
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new BufferUnderflowException();
+            }
+            buffer.flip();
+            level = read(buffer);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log("Discarding unreadable level cache " + file.getName() + ": " + e);
+            level = null;
+        }
+
+        if (level == null) {
+            file.delete();
+            return null;
+        }
+        if (level.getSeed() != seed || level.getWidth() != width || level.getHeight() != height) {
+            return null;
+        }
+
+        file.setLastModified(System.currentTimeMillis());
+        return level;
+    }
+
+    /**
+     * Writes the level to the cache, failures are logged and otherwise ignored
+     */
+    public static void store(LevelData level) {
+        File file = fileFor(level.getSeed(), level.getWidth(), level.getHeight());
+        File dir = file.getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            log("Could not create " + dir);
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(sizeOf(level));
+        write(level, buffer);
+        buffer.flip();
+
+        try {
+            // Written beside the target and moved into place so a reader never sees half a file
+            File temp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log("Could not write level cache " + file.getName() + ": " + e);
+        }
+    }
+
+    /**
+     * Deletes leftovers of interrupted writes, files from other generator versions and levels of seeds no save
+     * points at, then the least recently used files over {@link #MAX_LEVELS}
+     *
+     * @param savedSeeds Seeds of the levels to keep
+     */
+    public static void prune(Collection<Long> savedSeeds) {
+        File[] files = new File(CACHE_DIR).listFiles();
+        if (files == null) return;
+
+        List<File> kept = new ArrayList<>();
+        for (File file : files) {
+            Matcher matcher = FILE_NAME.matcher(file.getName());
+            boolean keep = matcher.matches()
+                && Integer.parseInt(matcher.group(2)) == MapGenerator.GENERATOR_VERSION
+                && savedSeeds.contains(Long.parseLong(matcher.group(1)));
+
+            if (keep) {
+                kept.add(file);
+            } else if (file.isFile() && !file.delete()) {
+                log("Could not delete " + file.getName());
+            }
+        }
+
+        if (kept.size() > MAX_LEVELS) {
+            kept.sort(Comparator.comparingLong(File::lastModified).reversed());
+            for (File file : kept.subList(MAX_LEVELS, kept.size())) {
+                file.delete();
+            }
+        }
+    }
+
+    private static File fileFor(long seed, int width, int height) {
+        return new File(CACHE_DIR, "level_" + seed + "_" + width + "x" + height + "_v" + MapGenerator.GENERATOR_VERSION + ".bin");
+    }
+
+    // Layout
+
+    private static int sizeOf(LevelData level) {
+        int size = 4 * 3 + 8 + 4 * 4;
+        size += sizeOf(level.getVertices()) + sizeOf(level.getTileStates())
+            + sizeOf(level.getNavGrid()) + sizeOf(level.getMossMask());
+
+        size += OutlineFile.sizeOf(level.getCollisionOutlines());
+
+        size += 4;
+        for (PipeRoute pipe : level.getPipes()) {
+            size += 4 * 3 + pipe.getSteps().length * 4;
+        }
+
+        return size + 4 * 4;
+    }
+
+    private static int sizeOf(ByteGrid grid) {
+        return 4 * 4 + grid.getCells().length;
+    }
+
+    private static void write(LevelData level, ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(MapGenerator.GENERATOR_VERSION);
+        buffer.putLong(level.getSeed());
+        buffer.putInt(level.getWidth());
+        buffer.putInt(level.getHeight());
+        buffer.putInt(level.getTileWidth());
+        buffer.putInt(level.getTileHeight());
+
+        writeGrid(level.getVertices(), buffer);
+        writeGrid(level.getTileStates(), buffer);
+        writeGrid(level.getNavGrid(), buffer);
+        writeGrid(level.getMossMask(), buffer);
+
+        OutlineFile.write(level.getCollisionOutlines(), buffer);
+
+        buffer.putInt(level.getPipes().size());
+        for (PipeRoute pipe : level.getPipes()) {
+            buffer.putInt(pipe.getStartX());
+            buffer.putInt(pipe.getStartY());
+            buffer.putInt(pipe.getSteps().length);
+            for (int step : pipe.getSteps()) {
+                buffer.putInt(step);
+            }
+        }
+
+        buffer.putFloat(level.getSpawnPoint().x);
+        buffer.putFloat(level.getSpawnPoint().y);
+        buffer.putFloat(level.getEndPoint().x);
+        buffer.putFloat(level.getEndPoint().y);
+    }
+
+    private static LevelData read(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a level cache file");
+        }
+        int formatVersion = buffer.getInt();
+        int generatorVersion = buffer.getInt();
+        if (formatVersion != FORMAT_VERSION || generatorVersion != MapGenerator.GENERATOR_VERSION) {
+            throw new IllegalArgumentException("Stale level cache, format " + formatVersion + ", generator " + generatorVersion);
+        }
+
+        long seed = buffer.getLong();
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int tileWidth = buffer.getInt();
+        int tileHeight = buffer.getInt();
+
+        ByteGrid vertices = readGrid(buffer);
+        ByteGrid tileStates = readGrid(buffer);
+        ByteGrid navGrid = readGrid(buffer);
+        ByteGrid mossMask = readGrid(buffer);
+
+        OutlineSet outlines = OutlineFile.read(buffer);
+
+        int pipeCount = buffer.getInt();
+        List<PipeRoute> pipes = new ArrayList<>(pipeCount);
+        for (int i = 0; i < pipeCount; i++) {
+            int startX = buffer.getInt();
+            int startY = buffer.getInt();
+            int[] steps = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(steps);
+            buffer.position(buffer.position() + steps.length * 4);
+            pipes.add(new PipeRoute(startX, startY, steps));
+        }
+
+        Vector2 spawnPoint = new Vector2(buffer.getFloat(), buffer.getFloat());
+        Vector2 endPoint = new Vector2(buffer.getFloat(), buffer.getFloat());
+
+        return new LevelData(seed, width, height, tileWidth, tileHeight,
+            vertices, tileStates, navGrid, mossMask, outlines, pipes, spawnPoint, endPoint);
+    }
+
+    private static void writeGrid(ByteGrid grid, ByteBuffer buffer) {
+        buffer.putInt(grid.getMinX());
+        buffer.putInt(grid.getMinY());
+        buffer.putInt(grid.getWidth());
+        buffer.putInt(grid.getHeight());
+        buffer.put(grid.getCells());
+    }
+
+    private static ByteGrid readGrid(ByteBuffer buffer) {
+        ByteGrid grid = new ByteGrid(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        buffer.get(grid.getCells());
+        return grid;
+    }
+
+    private static void log(String message) {
+        if (Gdx.app != null) {
+            Gdx.app.log("LevelCache", message);
+        }
+    }
+}
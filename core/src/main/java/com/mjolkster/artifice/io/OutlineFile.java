@@ -0,0 +1,112 @@
+package com.mjolkster.artifice.io;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes {@link OutlineSet}s in a flat binary layout. Static collision geometry is baked into these files
+ * at build time by the {@code bakeCollisions} task, so screens only have to read them back in one bulk read.
+ * The outline layout is shared with {@link LevelCache}.
+ */
+public class OutlineFile {
+
+    private static final int MAGIC = 0x4152544F; // "ARTO"
+    private static final int FORMAT_VERSION = 1;
+    private static final String BAKED_DIR = "collisions/";
+    private static final String BAKED_EXTENSION = ".outlines";
+
+    /**
+     * Where the baked outlines for an asset live, e.g. {@code subrooms/subroom_1.tmx} bakes to
+     * {@code collisions/subrooms/subroom_1.outlines}
+     */
+    public static String bakedPath(String sourcePath) {
+        String path = sourcePath.replace('\\', '/');
+        int dot = path.lastIndexOf('.');
+        if (dot > path.lastIndexOf('/')) {
+            path = path.substring(0, dot);
+        }
+        return BAKED_DIR + path + BAKED_EXTENSION;
+    }
+
+    public static OutlineSet load(FileHandle file) {
+        if (!file.exists()) {
+            throw new GdxRuntimeException("Missing baked collisions " + file.path() + ", run the bakeCollisions task");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(file.readBytes());
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new GdxRuntimeException("Not an outline file: " + file.path());
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new GdxRuntimeException("Outline file " + file.path() + " has format " + formatVersion
+                    + ", expected " + FORMAT_VERSION + ", run the bakeCollisions task");
+            }
+            return read(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new GdxRuntimeException("Corrupt outline file: " + file.path(), e);
+        }
+    }
+
+    public static void save(OutlineSet outlines, File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + sizeOf(outlines));
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        write(outlines, buffer);
+
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(buffer.array(), 0, buffer.position());
+        }
+    }
+
+    // Layout
+
+    static int sizeOf(OutlineSet outlines) {
+        return 4 + outlines.getOffsets().length * 4 + outlines.size() + 4 + outlines.getVertices().length * 4;
+    }
+
+    static void write(OutlineSet outlines, ByteBuffer buffer) {
+        buffer.putInt(outlines.size());
+        for (int offset : outlines.getOffsets()) {
+            buffer.putInt(offset);
+        }
+        for (boolean closed : outlines.getClosed()) {
+            buffer.put((byte) (closed ? 1 : 0));
+        }
+        buffer.putInt(outlines.getVertices().length);
+        buffer.asFloatBuffer().put(outlines.getVertices());
+        buffer.position(buffer.position() + outlines.getVertices().length * 4);
+    }
+
+    static OutlineSet read(ByteBuffer buffer) {
+        int outlineCount = buffer.getInt();
+        int[] offsets = new int[outlineCount + 1];
+        buffer.asIntBuffer().get(offsets);
+        buffer.position(buffer.position() + offsets.length * 4);
+
+        boolean[] closed = new boolean[outlineCount];
+        for (int i = 0; i < outlineCount; i++) {
+            closed[i] = buffer.get() != 0;
+        }
+
+        float[] vertices = new float[buffer.getInt()];
+        buffer.asFloatBuffer().get(vertices);
+        buffer.position(buffer.position() + vertices.length * 4);
+
+        return new OutlineSet(vertices, offsets, closed);
+    }
+}
@@ -2,6 +2,7 @@ package com.mjolkster.artifice.registry.registries;
 
 import com.badlogic.gdx.math.Rectangle;
 import com.mjolkster.artifice.core.actions.AttackAction;
+import com.mjolkster.artifice.io.AssetManifest;
 import com.mjolkster.artifice.registry.RegistryManager;
 import com.mjolkster.artifice.registry.RegistryObject;
 import com.mjolkster.artifice.util.geometry.Hitbox;
@@ -27,7 +28,7 @@ public class AttacksRegistry {
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f)),
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f))
                 ),
-                "fighter_sprites.atlas",
+                AssetManifest.FIGHTER_ATLAS,
                 "slash_left"
             )
         );
@@ -50,7 +51,7 @@ public class AttacksRegistry {
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f)),
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f))
                 ),
-                "fighter_sprites.atlas",
+                AssetManifest.FIGHTER_ATLAS,
                 "slash_right"
             )
         );
@@ -73,7 +74,7 @@ public class AttacksRegistry {
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f)),
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f))
                 ),
-                "fighter_sprites.atlas",
+                AssetManifest.FIGHTER_ATLAS,
                 "dash_left"
             )
         );
@@ -96,7 +97,7 @@ public class AttacksRegistry {
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f)),
                     new Hitbox(new Rectangle(0f, 0, 0f, 0f))
                 ),
-                "fighter_sprites.atlas",
+                AssetManifest.FIGHTER_ATLAS,
                 "dash_right"
             )
         );
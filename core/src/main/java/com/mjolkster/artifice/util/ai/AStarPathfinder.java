@@ -1,109 +1,116 @@
 package com.mjolkster.artifice.util.ai;
 
 import com.badlogic.gdx.math.Vector2;
-import com.mjolkster.artifice.core.world.generation.MapGenerator;
+import com.mjolkster.artifice.core.world.GameMap;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 
-import java.util.*;
+import java.util.Arrays;
 
+/**
+ * Eight-way A* over a nav grid. Cells are int indices into the searchable area and the open set is a
+ * {@link CellHeap}, so a cheaper route to a cell already queued moves its entry instead of queueing another. Scores
+ * and parents are stamped with the search that wrote them rather than cleared, and are kept between searches along
+ * with the heap, so a pathfinder doesn't allocate once it has grown to the map. Reuse one instance, on one thread.
+ */
 public class AStarPathfinder {
 
-    public Queue<Vector2> createAStarPathfinder(Vector2 start, Vector2 goal, GameScreen gameScreen) {
-        MapGenerator mapGen = gameScreen.getGameMap().getMapGenerator();
-        if (mapGen == null) return new LinkedList<>();
+    static final float STRAIGHT_COST = 1f;
+    static final float DIAGONAL_COST = 1.414f; // Pre-calculated sqrt(2)
 
-        Integer[][] grid = mapGen.getAStarGridSnapshot();
-        int width = mapGen.width;
-        int height = mapGen.height;
+    // All 8 directions, shared with FlowField so both agree on which moves exist and what they cost
+    static final int[] DX = {-1, -1, -1, 0, 0, 1, 1, 1};
+    static final int[] DY = {-1, 0, 1, -1, 1, -1, 0, 1};
 
+    private float[] g = new float[0];
+    private float[] f = new float[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private final CellHeap open = new CellHeap();
+    private int generation;
+
+    /**
+     * Searches the current map of the screen, see {@link #findPath(int, int, int, int, ByteGrid, int, int, PathBuffer)}
+     */
+    public boolean findPath(Vector2 start, Vector2 goal, GameScreen gameScreen, PathBuffer path) {
+        GameMap map = gameScreen.getGameMap();
+        if (map == null) return false;
+
+        return findPath(start, goal, map.getNavGrid(), map.getWidth(), map.getHeight(), path);
+    }
+
+    /**
+     * As {@link #findPath(int, int, int, int, ByteGrid, int, int, PathBuffer)}, from the cells the points are in
+     */
+    public boolean findPath(Vector2 start, Vector2 goal, ByteGrid grid, int width, int height, PathBuffer path) {
+        if (start.x < 0 || start.y < 0 || goal.x < 0 || goal.y < 0) return false;
+
+        return findPath((int) start.x, (int) start.y, (int) goal.x, (int) goal.y, grid, width, height, path);
+    }
+
+    /**
+     * Finds the shortest eight-way path between two cells. Only searches when the goal is in line of sight, so
+     * enemies don't track the player through walls.
+     *
+     * @param grid   0 for walkable cells
+     * @param width  Width of the searchable area, from x = 0
+     * @param height Height of the searchable area, from y = 0
+     * @param path   Receives the cells from start to goal inclusive, left as it was if there is no path
+     * @return Whether a path was found
+     */
+    public boolean findPath(int startX, int startY, int goalX, int goalY, ByteGrid grid, int width, int height,
+                            PathBuffer path) {
         // Validate coordinates
-        if (start.x < 0 || start.y < 0 || goal.x < 0 || goal.y < 0 ||
-            start.x >= width || start.y >= height ||
-            goal.x >= width || goal.y >= height) {
-            return new LinkedList<>();
+        if (startX < 0 || startY < 0 || goalX < 0 || goalY < 0 ||
+            startX >= width || startY >= height ||
+            goalX >= width || goalY >= height) {
+            return false;
         }
 
-        // Initialize data structures
-        PriorityQueue<Node> openQueue = new PriorityQueue<>(Comparator.comparingDouble(Node::getF));
-        Map<Vector2, Node> openMap = new HashMap<>();
-        Set<Vector2> closedSet = new HashSet<>();
+        if (!hasLineOfSight(startX, startY, goalX, goalY, grid)) return false;
 
-        if (hasLineOfSight(start, goal, grid)) {
+        beginSearch(width * height);
 
-            Node startNode = new Node(start, 0, Math.hypot(goal.x - start.x, goal.y - start.y), null);
-            openQueue.add(startNode);
-            openMap.put(start, startNode);
+        int start = startY * width + startX;
+        int goal = goalY * width + goalX;
+        visit(start, 0f, -1, heuristic(startX, startY, goalX, goalY));
 
-            while (!openQueue.isEmpty()) {
-                Node current = openQueue.poll();
-                openMap.remove(current.position);
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == goal) {
+                writePath(current, width, path);
+                return true;
+            }
 
-                if (current.position.epsilonEquals(goal, 0.1f)) {
-                    return reconstructPath(current);
-                }
+            int x = current % width;
+            int y = current / width;
 
-                closedSet.add(current.position);
+            for (int d = 0; d < DX.length; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height || grid.get(nx, ny) != 0) continue;
 
-                for (Node neighbor : getValidNeighbours(current, grid, width, height, goal)) {
-                    if (closedSet.contains(neighbor.position)) continue;
+                int neighbour = ny * width + nx;
+                float cost = g[current] + (DX[d] == 0 || DY[d] == 0 ? STRAIGHT_COST : DIAGONAL_COST);
 
-                    Node existing = openMap.get(neighbor.position);
-                    if (existing == null) {
-                        openQueue.add(neighbor);
-                        openMap.put(neighbor.position, neighbor);
-                    } else if (neighbor.getG() < existing.getG()) {
-                        openQueue.remove(existing);
-                        openQueue.add(neighbor);
-                        openMap.put(neighbor.position, neighbor);
-                    }
+                if (stamp[neighbour] != generation) {
+                    visit(neighbour, cost, current, heuristic(nx, ny, goalX, goalY));
+                } else if (open.contains(neighbour) && cost < g[neighbour]) {
+                    f[neighbour] += cost - g[neighbour];
+                    g[neighbour] = cost;
+                    parent[neighbour] = current;
+                    open.decreased(neighbour);
                 }
             }
         }
-        return new LinkedList<>();
+        return false;
     }
 
-    private List<Node> getValidNeighbours(Node node, Integer[][] grid, int width, int height, Vector2 goal) {
-        List<Node> neighbors = new ArrayList<>(8);
-        final int x = node.getX();
-        final int y = node.getY();
-
-        // Check all 8 directions
-        int[][] directions = {
-            {-1, -1}, {-1, 0}, {-1, 1},
-            {0, -1}, {0, 1},
-            {1, -1}, {1, 0}, {1, 1}
-        };
-
-        for (int[] dir : directions) {
-            int nx = x + dir[0];
-            int ny = y + dir[1];
-
-            if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
-                if (grid[nx][ny] == 0) {
-                    double cost = (dir[0] == 0 || dir[1] == 0) ? 1.0 : 1.414; // Pre-calculated sqrt(2)
-                    double hCost = Math.hypot(goal.x - nx, goal.y - ny);
-                    neighbors.add(new Node(new Vector2(nx, ny), node.getG() + cost, hCost, node));
-                }
-            }
-        }
-        return neighbors;
+    public boolean hasLineOfSight(Vector2 start, Vector2 end, ByteGrid grid) {
+        return hasLineOfSight((int) start.x, (int) start.y, (int) end.x, (int) end.y, grid);
     }
 
-    private Queue<Vector2> reconstructPath(Node node) {
-        LinkedList<Vector2> path = new LinkedList<>();
-        while (node != null) {
-            path.addFirst(node.position);
-            node = node.getParent();
-        }
-        return path;
-    }
-
-    public boolean hasLineOfSight(Vector2 start, Vector2 end, Integer[][] grid) {
-        int x0 = (int) start.x;
-        int y0 = (int) start.y;
-        int x1 = (int) end.x;
-        int y1 = (int) end.y;
-
+    public static boolean hasLineOfSight(int x0, int y0, int x1, int y1, ByteGrid grid) {
         int dx = Math.abs(x1 - x0);
         int dy = Math.abs(y1 - y0);
         int sx = x0 < x1 ? 1 : -1;
@@ -111,7 +118,7 @@ public class AStarPathfinder {
         int err = dx - dy;
 
         while (true) {
-            if (grid[x0][y0] != 0) return false; // blocked cell
+            if (grid.get(x0, y0) != 0) return false; // blocked cell
 
             if (x0 == x1 && y0 == y1) break;
 
@@ -129,4 +136,46 @@ public class AStarPathfinder {
         return true;
     }
 
+    private static float heuristic(int x, int y, int goalX, int goalY) {
+        int dx = goalX - x;
+        int dy = goalY - y;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Grows the arrays to the area if needed and moves to a new generation, which empties them all at once
+     */
+    private void beginSearch(int cells) {
+        if (cells > stamp.length) {
+            g = new float[cells];
+            f = new float[cells];
+            parent = new int[cells];
+            stamp = new int[cells];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        open.reset(f, cells);
+    }
+
+    private void visit(int cell, float cost, int from, float estimate) {
+        stamp[cell] = generation;
+        g[cell] = cost;
+        f[cell] = cost + estimate;
+        parent[cell] = from;
+        open.push(cell);
+    }
+
+    private void writePath(int goal, int width, PathBuffer path) {
+        int length = 0;
+        for (int cell = goal; cell != -1; cell = parent[cell]) length++;
+
+        path.reset(length);
+        int i = length;
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            path.set(--i, cell % width, cell / width);
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package com.mjolkster.artifice.util.ai;
+
+/**
+ * A binary min-heap of grid cells ordered by a score array the owner writes, indexed by cell so that lowering a
+ * queued cell's score moves its entry rather than queueing a second one. Shared by the searches in this package.
+ */
+class CellHeap {
+
+    private int[] heap = new int[0];
+    private int[] position = new int[0];
+    private float[] scores;
+    private int size;
+
+    /**
+     * Empties the heap for a search over the given number of cells
+     *
+     * @param scores Score of each cell, read whenever the heap is reordered
+     */
+    void reset(float[] scores, int cells) {
+        if (cells > heap.length) {
+            heap = new int[cells];
+            position = new int[cells];
+        }
+        this.scores = scores;
+        this.size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether a cell pushed since the last {@link #reset} is still queued; undefined for cells that weren't
+     */
+    boolean contains(int cell) {
+        return position[cell] >= 0;
+    }
+
+    void push(int cell) {
+        heap[size] = cell;
+        position[cell] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Reorders a queued cell after its score was lowered
+     */
+    void decreased(int cell) {
+        siftUp(position[cell]);
+    }
+
+    int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        float score = scores[cell];
+        while (i > 0) {
+            int up = (i - 1) >> 1;
+            int above = heap[up];
+            if (scores[above] <= score) break;
+            heap[i] = above;
+            position[above] = i;
+            i = up;
+        }
+        heap[i] = cell;
+        position[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        float score = scores[cell];
+        int half = size >> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && scores[heap[right]] < scores[heap[child]]) child = right;
+            if (score <= scores[heap[child]]) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        position[cell] = i;
+    }
+}
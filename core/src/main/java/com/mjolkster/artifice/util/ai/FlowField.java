@@ -0,0 +1,141 @@
+package com.mjolkster.artifice.util.ai;
+
+import com.mjolkster.artifice.core.world.GameMap;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+
+import java.util.Arrays;
+
+/**
+ * Distances to one goal cell from every cell of a nav grid, found by a single Dijkstra search outwards from the
+ * goal. Each cell also keeps the neighbour it was reached from, so anyone chasing the goal follows those pointers
+ * down the field instead of running a search of their own. Uses the same eight-way moves and costs as
+ * {@link AStarPathfinder}, so the paths are as short as its. As there, distances are stamped with the compute that
+ * wrote them rather than cleared, so a compute only costs as much as the cells it reaches; in a chunked world that is
+ * the floor of the loaded chunks, not the whole world. Arrays are kept between computes; use on one thread.
+ */
+public class FlowField {
+
+    private final CellHeap open = new CellHeap();
+    private float[] distance = new float[0];
+    private int[] next = new int[0];
+    private int[] stamp = new int[0];
+    private int generation;
+    private ByteGrid grid;
+    private int width;
+    private int height;
+    private int goalX;
+    private int goalY;
+    private boolean valid;
+
+    /**
+     * Recomputes the field toward a goal cell over the map's nav grid
+     */
+    public void compute(int goalX, int goalY, GameMap map) {
+        compute(goalX, goalY, map.getNavGrid(), map.getWidth(), map.getHeight());
+    }
+
+    /**
+     * Recomputes the field toward a goal cell. If the goal is outside the area or blocked, nothing can reach it.
+     *
+     * @param grid   0 for walkable cells
+     * @param width  Width of the searchable area, from x = 0
+     * @param height Height of the searchable area, from y = 0
+     */
+    public void compute(int goalX, int goalY, ByteGrid grid, int width, int height) {
+        this.grid = grid;
+        this.width = width;
+        this.height = height;
+        this.goalX = goalX;
+        this.goalY = goalY;
+
+        int cells = width * height;
+        if (cells > stamp.length) {
+            distance = new float[cells];
+            next = new int[cells];
+            stamp = new int[cells];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        open.reset(distance, cells);
+
+        valid = goalX >= 0 && goalY >= 0 && goalX < width && goalY < height && grid.get(goalX, goalY) == 0;
+        if (!valid) return;
+
+        int goal = goalY * width + goalX;
+        stamp[goal] = generation;
+        distance[goal] = 0f;
+        next[goal] = -1;
+        open.push(goal);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            int x = current % width;
+            int y = current / width;
+
+            for (int d = 0; d < AStarPathfinder.DX.length; d++) {
+                int nx = x + AStarPathfinder.DX[d];
+                int ny = y + AStarPathfinder.DY[d];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height || grid.get(nx, ny) != 0) continue;
+
+                int neighbour = ny * width + nx;
+                boolean straight = AStarPathfinder.DX[d] == 0 || AStarPathfinder.DY[d] == 0;
+                float cost = distance[current]
+                    + (straight ? AStarPathfinder.STRAIGHT_COST : AStarPathfinder.DIAGONAL_COST);
+                boolean reached = stamp[neighbour] == generation;
+                if (reached && cost >= distance[neighbour]) continue;
+
+                stamp[neighbour] = generation;
+                distance[neighbour] = cost;
+                next[neighbour] = current;
+                if (reached) {
+                    open.decreased(neighbour);
+                } else {
+                    open.push(neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Path cost from a cell to the goal, infinite if it can't reach it
+     */
+    public float getDistance(int x, int y) {
+        if (!valid || x < 0 || y < 0 || x >= width || y >= height) return Float.POSITIVE_INFINITY;
+
+        int cell = y * width + x;
+        return stamp[cell] == generation ? distance[cell] : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Follows the field from the cell a point is in down to the goal. As with {@link AStarPathfinder}, only when the
+     * goal is in line of sight, so enemies don't track the player through walls.
+     *
+     * @param path Receives the cells from start to goal inclusive, left as it was if there is no path
+     * @return Whether a path was found
+     */
+    public boolean findPath(float startX, float startY, PathBuffer path) {
+        if (startX < 0 || startY < 0) return false;
+
+        int x = (int) startX;
+        int y = (int) startY;
+        if (getDistance(x, y) == Float.POSITIVE_INFINITY) return false;
+        if (!AStarPathfinder.hasLineOfSight(x, y, goalX, goalY, grid)) return false;
+
+        int start = y * width + x;
+        int length = 0;
+        for (int cell = start; cell != -1; cell = next[cell]) length++;
+
+        path.reset(length);
+        int i = 0;
+        for (int cell = start; cell != -1; cell = next[cell]) {
+            path.set(i++, cell % width, cell / width);
+        }
+        return true;
+    }
+
+    public int getGoalX() { return goalX; }
+    public int getGoalY() { return goalY; }
+}
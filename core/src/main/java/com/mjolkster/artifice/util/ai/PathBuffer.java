@@ -0,0 +1,76 @@
+package com.mjolkster.artifice.util.ai;
+
+import java.util.Arrays;
+
+/**
+ * A path of grid cells packed as x, y pairs, with a cursor for following it. Written by {@link AStarPathfinder} and
+ * kept by its owner between searches, so finding a path doesn't allocate one.
+ */
+public class PathBuffer {
+
+    private int[] cells;
+    private int size;
+    private int next;
+
+    public PathBuffer() {
+        this(32);
+    }
+
+    /**
+     * @param capacity Cells to make room for up front
+     */
+    public PathBuffer(int capacity) {
+        this.cells = new int[Math.max(1, capacity) * 2];
+    }
+
+    /**
+     * Whether every cell has been passed
+     */
+    public boolean isEmpty() {
+        return next >= size;
+    }
+
+    /**
+     * Number of cells not yet passed
+     */
+    public int remaining() {
+        return size - next;
+    }
+
+    public int peekX() { return cells[next * 2]; }
+    public int peekY() { return cells[next * 2 + 1]; }
+
+    /**
+     * Moves the cursor past the next cell, if there is one
+     */
+    public void poll() {
+        if (next < size) next++;
+    }
+
+    public void clear() {
+        size = 0;
+        next = 0;
+    }
+
+    /**
+     * Cell i after the cursor, 0 being the one {@link #peekX()} returns
+     */
+    public int getX(int i) { return cells[(next + i) * 2]; }
+    public int getY(int i) { return cells[(next + i) * 2 + 1]; }
+
+    /**
+     * Empties the buffer and makes room for a path of the given length, for the pathfinder to fill in any order
+     */
+    void reset(int length) {
+        if (length * 2 > cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(length * 2, cells.length * 2));
+        }
+        size = length;
+        next = 0;
+    }
+
+    void set(int i, int x, int y) {
+        cells[i * 2] = x;
+        cells[i * 2 + 1] = y;
+    }
+}
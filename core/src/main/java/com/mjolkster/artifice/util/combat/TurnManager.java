@@ -1,7 +1,10 @@
 package com.mjolkster.artifice.util.combat;
 
+import com.badlogic.gdx.math.Rectangle;
 import com.mjolkster.artifice.core.entities.enemy.BaseEnemy;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
+import com.mjolkster.artifice.core.world.GameMap;
+import com.mjolkster.artifice.util.ai.FlowField;
 
 import java.util.List;
 
@@ -9,17 +12,31 @@ public class TurnManager {
 
     private final PlayableCharacter player;
     private final List<BaseEnemy> npcs;
+    private final GameMap map;
 
-    public TurnManager(PlayableCharacter player, List<BaseEnemy> npcs) {
+    // Every enemy chases the same tile, so one field per player turn replaces a search per enemy
+    private final FlowField flowField = new FlowField();
+
+    public TurnManager(PlayableCharacter player, List<BaseEnemy> npcs, GameMap map) {
         this.player = player;
         this.npcs = npcs;
+        this.map = map;
     }
 
     public void update(float delta) {
 
         if (player.hasCompletedMove()) {
+            if (!npcs.isEmpty()) {
+                Rectangle bounds = player.collisionBox.getBounds();
+                flowField.compute(
+                    Math.round(bounds.x + bounds.width / 2f),
+                    Math.round(bounds.y + bounds.height / 2f),
+                    map
+                );
+            }
+
             for (BaseEnemy npc : npcs) {
-                npc.recalculatePath();
+                npc.recalculatePath(flowField);
                 npc.followPath(delta);
                 npc.performAction();
                 npc.damagedPlayer(false);
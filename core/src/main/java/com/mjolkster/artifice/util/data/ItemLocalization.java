@@ -1,22 +1,40 @@
 package com.mjolkster.artifice.util.data;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.mjolkster.artifice.io.AssetCache;
 
+/**
+ * Display names and descriptions for items, read from {@link #FILE}. Loaded as an asset by
+ * {@link com.mjolkster.artifice.io.ItemLocalizationLoader ItemLocalizationLoader}, so the JSON is parsed off the
+ * render thread during the preload.
+ */
 public class ItemLocalization {
-    private static ObjectMap<String, ItemStrings> entries;
 
+    public static final String FILE = "items.json";
+
+    private static ItemLocalization loaded;
+
+    private final ObjectMap<String, ItemStrings> entries;
+
+    @SuppressWarnings("unchecked")
+    public ItemLocalization(String json) {
+        this.entries = new Json().fromJson(ObjectMap.class, ItemStrings.class, json);
+    }
+
+    /**
+     * Takes the strings from the asset cache, finishing the load on the calling thread if the preload hasn't
+     */
     public static void load() {
-        Json json = new Json();
-        entries = json.fromJson(ObjectMap.class, ItemStrings.class, Gdx.files.internal("items.json"));
+        // Held for the session, like the item atlas
+        loaded = AssetCache.acquire(FILE, ItemLocalization.class);
     }
 
     public static ItemStrings get(String itemName) {
-        if (entries == null) {
+        if (loaded == null) {
             load();
         }
-        return entries.get(itemName);
+        return loaded.entries.get(itemName);
     }
 
     public static class ItemStrings {
@@ -24,4 +42,3 @@ public class ItemLocalization {
         public String description;
     }
 }
-
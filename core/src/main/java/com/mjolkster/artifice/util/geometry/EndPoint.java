@@ -9,12 +9,14 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.mjolkster.artifice.core.GameClass;
 import com.mjolkster.artifice.core.entities.PlayableCharacter;
-import com.mjolkster.artifice.io.FileHandler;
+import com.mjolkster.artifice.io.AssetCache;
 import com.mjolkster.artifice.registry.registries.ItemRegistry;
 import com.mjolkster.artifice.graphics.screen.GameScreen;
 
 public class EndPoint {
 
+    private static final String TEXTURE = "endpoint.png";
+
     private final GameScreen gameScreen;
     GameClass game;
     private final Vector2 position;
@@ -36,7 +38,7 @@ public class EndPoint {
 
         this.hitbox = new Rectangle(this.position.x, this.position.y, 1f, 1f);
 
-        Texture texture = new Texture(Gdx.files.internal("endpoint.png"));
+        Texture texture = AssetCache.acquire(TEXTURE, Texture.class);
         TextureRegion[][] frames = TextureRegion.split(texture, 32, 32);
 
         closedFrame = frames[0][0];
@@ -110,13 +112,13 @@ public class EndPoint {
             }
 
             player.roundsPassed += 1;
-            FileHandler.CreateNewSave(player, gameScreen.getSeed(), GameScreen.playerSlotNumber);
 
+            // The run is saved once the next level is entered, so it resumes there rather than on this one
             if (player.roundsPassed > 0 && player.roundsPassed % 5 == 0) {
                 Gdx.app.log("EndPoint", "Requested restart with boss");
-                gameScreen.requestRestartWithBoss();
+                gameScreen.requestNextLevel(true);
             } else {
-                gameScreen.requestRestart();
+                gameScreen.requestNextLevel(false);
             }
 
 
@@ -143,4 +145,8 @@ public class EndPoint {
         OPENING,
         OPEN
     }
+
+    public void dispose() {
+        AssetCache.release(TEXTURE);
+    }
 }
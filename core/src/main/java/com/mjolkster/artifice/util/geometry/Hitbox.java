@@ -35,6 +35,13 @@ public class Hitbox implements Iterable<Rectangle> {
         }
     }
 
+    /**
+     * A copy of the template's local rectangles, with its own world rectangles
+     */
+    public Hitbox(Hitbox template) {
+        this(template.localRectangles);
+    }
+
     public void add(Rectangle rect) {
         this.localRectangles.add(new Rectangle(rect));
         this.worldRectangles.add(new Rectangle(rect));
@@ -119,6 +126,13 @@ public class Hitbox implements Iterable<Rectangle> {
         return Intersector.intersectSegmentRectangle(line.start, line.end, getBounds());
     }
 
+    /**
+     * Check if this hitbox overlaps any of the segments, computing the bounds once for the whole buffer
+     */
+    public boolean overlaps(SegmentBuffer segments) {
+        return segments.anyIntersects(getBounds());
+    }
+
     /**
      * Check if this hitbox overlaps a rectangle
      */
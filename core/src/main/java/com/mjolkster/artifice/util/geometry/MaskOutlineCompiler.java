@@ -0,0 +1,262 @@
+package com.mjolkster.artifice.util.geometry;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compiles a collision mask image into closed outlines. Black pixels are solid; the boundary between solid and
+ * empty pixels is traced along the pixel edges into loops, straight runs are merged, and pixel staircases are
+ * optionally smoothed to within a tolerance. Outlines come out y-up, with (0, 0) at the bottom-left of the mask.
+ */
+public class MaskOutlineCompiler {
+
+    // Edge directions, stored as bits on the lattice point each edge leaves from
+    private static final int EAST = 0;
+    private static final int NORTH = 1;
+    private static final int WEST = 2;
+    private static final int SOUTH = 3;
+    private static final int[] DX = {1, 0, -1, 0};
+    private static final int[] DY = {0, 1, 0, -1};
+
+    private final float unitsPerPixel;
+    private final float tolerance;
+
+    /**
+     * @param unitsPerPixel World units per mask pixel
+     * @param tolerance     How far in pixels a simplified outline may stray from the pixel edges, 0 to only merge
+     *                      straight runs
+     */
+    public MaskOutlineCompiler(float unitsPerPixel, float tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must not be negative: " + tolerance);
+        }
+        this.unitsPerPixel = unitsPerPixel;
+        this.tolerance = tolerance;
+    }
+
+    public OutlineSet compile(Pixmap mask) {
+        return compile(solidPixels(mask), mask.getWidth(), mask.getHeight());
+    }
+
+    /**
+     * @param solid  One byte per pixel, non-zero for solid, rows from the top of the image down
+     * @param width  Mask width in pixels
+     * @param height Mask height in pixels
+     */
+    public OutlineSet compile(byte[] solid, int width, int height) {
+        if (solid.length < width * height) {
+            throw new IllegalArgumentException("Mask holds " + solid.length + " pixels, expected " + width * height);
+        }
+
+        byte[] edges = collectEdges(solid, width, height);
+        int latticeWidth = width + 1;
+
+        OutlineSet.Builder outlines = new OutlineSet.Builder();
+        IntArray loop = new IntArray();
+        IntArray simplified = new IntArray();
+
+        // The first point found in scan order is always a corner of a loop not yet traced
+        for (int start = 0; start < edges.length; start++) {
+            while (edges[start] != 0) {
+                traceLoop(edges, latticeWidth, start, loop);
+                simplify(loop, simplified);
+
+                outlines.begin();
+                for (int i = 0; i < simplified.size; i += 2) {
+                    outlines.point(simplified.get(i) * unitsPerPixel, simplified.get(i + 1) * unitsPerPixel);
+                }
+                outlines.end(true);
+            }
+        }
+
+        return outlines.build();
+    }
+
+    /**
+     * Reads the pixmap's buffer directly for the byte-per-channel formats and falls back to
+     * {@link Pixmap#getPixel(int, int)} for the rest
+     *
+     * @return One byte per pixel, 1 where red, green and blue are all 0, rows from the top down
+     */
+    public static byte[] solidPixels(Pixmap mask) {
+        int width = mask.getWidth();
+        int height = mask.getHeight();
+        byte[] solid = new byte[width * height];
+
+        Pixmap.Format format = mask.getFormat();
+        if (format == Pixmap.Format.RGBA8888 || format == Pixmap.Format.RGB888) {
+            int stride = format == Pixmap.Format.RGBA8888 ? 4 : 3;
+            ByteBuffer pixels = mask.getPixels();
+            int base = pixels.position();
+
+            for (int i = 0; i < solid.length; i++) {
+                int p = base + i * stride;
+                if ((pixels.get(p) | pixels.get(p + 1) | pixels.get(p + 2)) == 0) {
+                    solid[i] = 1;
+                }
+            }
+        } else {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    // getPixel always answers in RGBA8888
+                    if ((mask.getPixel(x, y) & 0xFFFFFF00) == 0) {
+                        solid[y * width + x] = 1;
+                    }
+                }
+            }
+        }
+
+        return solid;
+    }
+
+    /**
+     * Every boundary edge of the solid pixels, directed so the solid side is on its left. The lattice is y-up, so
+     * outer boundaries run anticlockwise and holes clockwise.
+     */
+    private static byte[] collectEdges(byte[] solid, int width, int height) {
+        int latticeWidth = width + 1;
+        byte[] edges = new byte[latticeWidth * (height + 1)];
+
+        for (int y = 0; y < height; y++) {
+            int row = (height - 1 - y) * width;
+            int rowBelow = row + width;
+            int rowAbove = row - width;
+
+            for (int x = 0; x < width; x++) {
+                if (solid[row + x] == 0) continue;
+
+                int corner = y * latticeWidth + x;
+
+                if (y == 0 || solid[rowBelow + x] == 0) {
+                    edges[corner] |= 1 << EAST;
+                }
+                if (x == width - 1 || solid[row + x + 1] == 0) {
+                    edges[corner + 1] |= 1 << NORTH;
+                }
+                if (y == height - 1 || solid[rowAbove + x] == 0) {
+                    edges[corner + latticeWidth + 1] |= 1 << WEST;
+                }
+                if (x == 0 || solid[row + x - 1] == 0) {
+                    edges[corner + latticeWidth] |= 1 << SOUTH;
+                }
+            }
+        }
+
+        return edges;
+    }
+
+    /**
+     * Walks one loop from start, consuming its edges, and writes its corners to loop as x, y pairs.
+     * Where two solid pixels only touch diagonally the walk turns left, keeping them in separate loops.
+     */
+    private static void traceLoop(byte[] edges, int latticeWidth, int start, IntArray loop) {
+        loop.clear();
+
+        int point = start;
+        int direction = -1;
+        int firstDirection = -1;
+
+        while (edges[point] != 0) {
+            int bits = edges[point];
+            int next;
+            if (direction < 0) {
+                next = Integer.numberOfTrailingZeros(bits);
+            } else if ((bits & (1 << ((direction + 1) & 3))) != 0) {
+                next = (direction + 1) & 3;
+            } else if ((bits & (1 << direction)) != 0) {
+                next = direction;
+            } else {
+                next = (direction + 3) & 3;
+            }
+
+            if (next != direction) {
+                loop.add(point % latticeWidth, point / latticeWidth);
+            }
+            if (firstDirection < 0) {
+                firstDirection = next;
+            }
+
+            edges[point] &= ~(1 << next);
+            point += DX[next] + DY[next] * latticeWidth;
+            direction = next;
+        }
+
+        // Arriving back along the first edge's direction means the start sat mid-run
+        if (direction == firstDirection && loop.size > 2) {
+            loop.removeRange(0, 1);
+        }
+    }
+
+    /**
+     * Ramer-Douglas-Peucker over a closed loop, split at the corner furthest from the first.
+     * With a tolerance of 0 the corners are copied as they are.
+     */
+    private void simplify(IntArray loop, IntArray out) {
+        out.clear();
+        int points = loop.size / 2;
+
+        if (tolerance == 0 || points <= 4) {
+            out.addAll(loop);
+            return;
+        }
+
+        int furthest = 0;
+        long best = -1;
+        for (int i = 1; i < points; i++) {
+            long dx = loop.get(i * 2) - loop.get(0);
+            long dy = loop.get(i * 2 + 1) - loop.get(1);
+            long d = dx * dx + dy * dy;
+            if (d > best) {
+                best = d;
+                furthest = i;
+            }
+        }
+
+        boolean[] keep = new boolean[points + 1];
+        keep[0] = true;
+        keep[furthest] = true;
+        keep[points] = true;
+
+        float limit = tolerance * tolerance;
+        IntArray stack = new IntArray();
+        stack.add(0, furthest, furthest, points);
+
+        while (stack.size > 0) {
+            int last = stack.pop();
+            int first = stack.pop();
+            if (last - first < 2) continue;
+
+            float ax = loop.get(first * 2);
+            float ay = loop.get(first * 2 + 1);
+            float bx = loop.get((last % points) * 2);
+            float by = loop.get((last % points) * 2 + 1);
+            float lengthSq = (bx - ax) * (bx - ax) + (by - ay) * (by - ay);
+
+            int worst = -1;
+            float worstDistance = limit;
+            for (int i = first + 1; i < last; i++) {
+                float px = loop.get(i * 2) - ax;
+                float py = loop.get(i * 2 + 1) - ay;
+                float cross = px * (by - ay) - py * (bx - ax);
+                float distance = lengthSq == 0 ? px * px + py * py : cross * cross / lengthSq;
+                if (distance > worstDistance) {
+                    worstDistance = distance;
+                    worst = i;
+                }
+            }
+
+            if (worst >= 0) {
+                keep[worst] = true;
+                stack.add(first, worst, worst, last);
+            }
+        }
+
+        for (int i = 0; i < points; i++) {
+            if (keep[i]) {
+                out.add(loop.get(i * 2), loop.get(i * 2 + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.mjolkster.artifice.util.geometry;
+
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A set of collision polylines packed into one float array. Closed outlines don't repeat their first point,
+ * the segment back to it is implied by {@link #isClosed(int)}.
+ */
+public class OutlineSet {
+
+    private final float[] vertices;
+    private final int[] offsets;
+    private final boolean[] closed;
+
+    /**
+     * @param vertices x, y pairs of every outline one after another
+     * @param offsets  Index of each outline's first point, followed by the total number of points
+     * @param closed   Whether each outline loops back to its start
+     */
+    public OutlineSet(float[] vertices, int[] offsets, boolean[] closed) {
+        if (offsets.length != closed.length + 1 || offsets[offsets.length - 1] * 2 != vertices.length) {
+            throw new IllegalArgumentException("Offsets don't match " + closed.length + " outlines of "
+                + vertices.length / 2 + " points");
+        }
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.closed = closed;
+    }
+
+    /**
+     * Number of outlines
+     */
+    public int size() {
+        return closed.length;
+    }
+
+    public int pointCount(int outline) {
+        return offsets[outline + 1] - offsets[outline];
+    }
+
+    /**
+     * Number of segments, including the closing segment of a closed outline
+     */
+    public int segmentCount(int outline) {
+        int points = pointCount(outline);
+        if (points < 2) return 0;
+        return closed[outline] ? points : points - 1;
+    }
+
+    public boolean isClosed(int outline) {
+        return closed[outline];
+    }
+
+    public float getX(int outline, int point) {
+        return vertices[(offsets[outline] + point) * 2];
+    }
+
+    public float getY(int outline, int point) {
+        return vertices[(offsets[outline] + point) * 2 + 1];
+    }
+
+    /**
+     * Total number of segments across all outlines
+     */
+    public int totalSegments() {
+        int total = 0;
+        for (int i = 0; i < size(); i++) total += segmentCount(i);
+        return total;
+    }
+
+    /**
+     * Every segment as a {@link Line}, for collision code that still works on line sets
+     */
+    public Set<Line> toLines() {
+        Set<Line> lines = new HashSet<>();
+        for (int i = 0; i < size(); i++) {
+            int points = pointCount(i);
+            for (int s = 0; s < segmentCount(i); s++) {
+                int next = (s + 1) % points;
+                lines.add(new Line(getX(i, s), getY(i, s), getX(i, next), getY(i, next)));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * The backing x, y pairs, not copied
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * The first point index of each outline followed by the total point count, not copied
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public boolean[] getClosed() {
+        return closed;
+    }
+
+    /**
+     * Builds an {@link OutlineSet} one point at a time
+     */
+    public static class Builder {
+        private final FloatArray vertices = new FloatArray();
+        private final IntArray offsets = new IntArray();
+        private final BooleanArray closed = new BooleanArray();
+        private int outlineStart = -1;
+
+        public Builder begin() {
+            if (outlineStart >= 0) throw new IllegalStateException("Outline already started");
+            outlineStart = vertices.size / 2;
+            return this;
+        }
+
+        public Builder point(float x, float y) {
+            if (outlineStart < 0) throw new IllegalStateException("No outline started");
+            vertices.add(x, y);
+            return this;
+        }
+
+        /**
+         * Finishes the current outline, dropping it if it has fewer than two points
+         */
+        public Builder end(boolean isClosed) {
+            if (outlineStart < 0) throw new IllegalStateException("No outline started");
+
+            if (vertices.size / 2 - outlineStart < 2) {
+                vertices.size = outlineStart * 2;
+            } else {
+                offsets.add(outlineStart);
+                closed.add(isClosed);
+            }
+            outlineStart = -1;
+            return this;
+        }
+
+        public OutlineSet build() {
+            if (outlineStart >= 0) throw new IllegalStateException("Outline not ended");
+
+            int[] offsetArray = new int[offsets.size + 1];
+            System.arraycopy(offsets.items, 0, offsetArray, 0, offsets.size);
+            offsetArray[offsets.size] = vertices.size / 2;
+
+            return new OutlineSet(vertices.toArray(), offsetArray, closed.toArray());
+        }
+    }
+}
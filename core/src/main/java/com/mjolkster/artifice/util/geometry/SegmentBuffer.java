@@ -0,0 +1,143 @@
+package com.mjolkster.artifice.util.geometry;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * Collision segments packed into one flat array as x1, y1, x2, y2 per segment.
+ * Walked by index on every movement step, so the hot loop touches one contiguous array instead of chasing
+ * {@link Line}s and their {@link com.badlogic.gdx.math.Vector2 Vector2}s around the heap.
+ */
+public class SegmentBuffer {
+
+    private static final int STRIDE = 4;
+
+    private float[] segments;
+    private int size;
+
+    public SegmentBuffer() {
+        this(16);
+    }
+
+    /**
+     * @param capacity Segments to make room for up front
+     */
+    public SegmentBuffer(int capacity) {
+        this.segments = new float[Math.max(1, capacity) * STRIDE];
+    }
+
+    /**
+     * Every segment of the outlines, closed outlines including the segment back to their first point
+     */
+    public static SegmentBuffer of(OutlineSet outlines) {
+        SegmentBuffer buffer = new SegmentBuffer(outlines.totalSegments());
+        buffer.addAll(outlines);
+        return buffer;
+    }
+
+    public void add(float x1, float y1, float x2, float y2) {
+        ensureCapacity(size + 1);
+        int i = size * STRIDE;
+        segments[i] = x1;
+        segments[i + 1] = y1;
+        segments[i + 2] = x2;
+        segments[i + 3] = y2;
+        size++;
+    }
+
+    public void addAll(SegmentBuffer other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.segments, 0, segments, size * STRIDE, other.size * STRIDE);
+        size += other.size;
+    }
+
+    public void addAll(OutlineSet outlines) {
+        ensureCapacity(size + outlines.totalSegments());
+        for (int i = 0; i < outlines.size(); i++) {
+            int points = outlines.pointCount(i);
+            for (int s = 0; s < outlines.segmentCount(i); s++) {
+                int next = (s + 1) % points;
+                add(outlines.getX(i, s), outlines.getY(i, s), outlines.getX(i, next), outlines.getY(i, next));
+            }
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public float getX1(int segment) { return segments[segment * STRIDE]; }
+    public float getY1(int segment) { return segments[segment * STRIDE + 1]; }
+    public float getX2(int segment) { return segments[segment * STRIDE + 2]; }
+    public float getY2(int segment) { return segments[segment * STRIDE + 3]; }
+
+    /**
+     * Whether the segment touches or crosses the rectangle
+     */
+    public boolean intersects(int segment, Rectangle rect) {
+        int i = segment * STRIDE;
+        return intersects(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], rect);
+    }
+
+    /**
+     * Whether any segment touches or crosses the rectangle, stopping at the first that does
+     */
+    public boolean anyIntersects(Rectangle rect) {
+        return firstIntersecting(rect) >= 0;
+    }
+
+    /**
+     * The index of the first segment touching or crossing the rectangle, -1 if there is none
+     */
+    public int firstIntersecting(Rectangle rect) {
+        float[] s = segments;
+        for (int i = 0, end = size * STRIDE; i < end; i += STRIDE) {
+            if (intersects(s[i], s[i + 1], s[i + 2], s[i + 3], rect)) return i / STRIDE;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of segments touching or crossing the rectangle
+     */
+    public int countIntersecting(Rectangle rect) {
+        int hits = 0;
+        float[] s = segments;
+        for (int i = 0, end = size * STRIDE; i < end; i += STRIDE) {
+            if (intersects(s[i], s[i + 1], s[i + 2], s[i + 3], rect)) hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * The backing x1, y1, x2, y2 values, not copied. Only the first {@link #size()} * 4 are in use.
+     */
+    public float[] getSegments() {
+        return segments;
+    }
+
+    // Cheap bounding box rejection first, most segments are nowhere near the rectangle
+    private static boolean intersects(float x1, float y1, float x2, float y2, Rectangle rect) {
+        if (Math.max(x1, x2) < rect.x || Math.min(x1, x2) > rect.x + rect.width
+            || Math.max(y1, y2) < rect.y || Math.min(y1, y2) > rect.y + rect.height) {
+            return false;
+        }
+        return Intersector.intersectSegmentRectangle(x1, y1, x2, y2, rect);
+    }
+
+    private void ensureCapacity(int segmentCount) {
+        if (segmentCount * STRIDE > segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(segmentCount * STRIDE, segments.length * 2));
+        }
+    }
+}
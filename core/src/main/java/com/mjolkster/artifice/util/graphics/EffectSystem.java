@@ -0,0 +1,132 @@
+package com.mjolkster.artifice.util.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plays one-shot particle effects by name. Each effect file is parsed once into a prototype, instances come from a
+ * {@link ParticleEffectPool} and go back to it when they complete, so entities don't carry emitters of their own.
+ * Continuous effects are told to finish once their lifetime is up, so every effect completes.
+ * Updated and drawn by {@link com.mjolkster.artifice.core.world.EntityManager EntityManager}. Must be used on the
+ * render thread.
+ */
+public class EffectSystem {
+
+    public static final String DEATH = "death";
+
+    private static final int INITIAL_POOL_SIZE = 4;
+    private static final int MAX_POOL_SIZE = 32;
+
+    private static final Map<String, String> EFFECT_FILES = new HashMap<>();
+    // Seconds each effect emits for before its particles are left to die out
+    private static final Map<String, Float> EFFECT_LIFETIMES = new HashMap<>();
+
+    static {
+        EFFECT_FILES.put(DEATH, "particles/death_particle/death_particle.p");
+        // As long as an enemy's dying state, which the effect used to last
+        EFFECT_LIFETIMES.put(DEATH, 1f);
+    }
+
+    private static final Map<String, ParticleEffect> prototypes = new HashMap<>();
+    private static final Map<String, ParticleEffectPool> pools = new HashMap<>();
+    private static final Array<PooledEffect> active = new Array<>(false, 16);
+    // Seconds left before each active effect is allowed to complete, in step with active
+    private static final FloatArray lifetimes = new FloatArray(false, 16);
+
+    private EffectSystem() {
+    }
+
+    /**
+     * Starts an effect at a position in world units
+     *
+     * @param name One of the effect names, e.g. {@link #DEATH}
+     */
+    public static PooledEffect spawn(String name, float x, float y) {
+        PooledEffect effect = poolFor(name).obtain();
+        effect.setPosition(x, y);
+        effect.start();
+        active.add(effect);
+        lifetimes.add(EFFECT_LIFETIMES.get(name));
+        return effect;
+    }
+
+    public static void update(float delta) {
+        for (int i = active.size - 1; i >= 0; i--) {
+            PooledEffect effect = active.get(i);
+            float lifetime = lifetimes.get(i);
+            if (lifetime > 0) {
+                lifetime -= delta;
+                lifetimes.set(i, lifetime);
+                if (lifetime <= 0) effect.allowCompletion();
+            }
+
+            effect.update(delta);
+            if (effect.isComplete()) {
+                active.removeIndex(i);
+                lifetimes.removeIndex(i);
+                effect.free();
+            }
+        }
+    }
+
+    public static void draw(SpriteBatch batch) {
+        for (int i = 0; i < active.size; i++) {
+            active.get(i).draw(batch);
+        }
+    }
+
+    /**
+     * Returns every running effect to its pool, when a level is torn down
+     */
+    public static void clear() {
+        for (int i = 0; i < active.size; i++) {
+            active.get(i).free();
+        }
+        active.clear();
+        lifetimes.clear();
+    }
+
+    public static int getActiveCount() {
+        return active.size;
+    }
+
+    /**
+     * Frees the pools and the prototypes' textures, at shutdown
+     */
+    public static void dispose() {
+        clear();
+        pools.clear();
+        for (ParticleEffect prototype : prototypes.values()) {
+            prototype.dispose();
+        }
+        prototypes.clear();
+    }
+
+    private static ParticleEffectPool poolFor(String name) {
+        ParticleEffectPool pool = pools.get(name);
+        if (pool != null) return pool;
+
+        String path = EFFECT_FILES.get(name);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown effect " + name);
+        }
+
+        FileHandle file = Gdx.files.internal(path);
+        ParticleEffect prototype = new ParticleEffect();
+        prototype.load(file, file.parent());
+        prototypes.put(name, prototype);
+
+        pool = new ParticleEffectPool(prototype, INITIAL_POOL_SIZE, MAX_POOL_SIZE);
+        pools.put(name, pool);
+        return pool;
+    }
+}
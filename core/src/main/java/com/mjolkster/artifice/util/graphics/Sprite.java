@@ -1,43 +1,36 @@
 package com.mjolkster.artifice.util.graphics;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.mjolkster.artifice.util.geometry.Hitbox;
-import com.mjolkster.artifice.util.geometry.HitboxExtractor;
 
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * The per-entity state of an animated sprite: direction, animation time and flashing. Everything that can be shared
+ * between entities on the same sheet lives in a {@link SpriteDefinition}.
+ */
 public class Sprite implements Disposable {
 
     private static final float FLASH_DURATION = 0.300f; // in secs
-    private final Map<Direction, Animation<TextureRegion>> animations;
+
+    private final SpriteDefinition definition;
     private final Map<Direction, Hitbox> hitboxes;
 
-    private final Texture spriteSheet;
     private Direction currentDirection;
     private float stateTime;
     private boolean flashing = false;
     private float flashTimer = 0f;
-    private final int spriteWidth;
-    private final int spriteHeight;
 
-    private final Map<String, Animation<TextureRegion>> customAnimations = new HashMap<>();
     private String currentAnimation = null;
     private boolean loopCurrent = true;
-
-    private ParticleEffect effect;
-    private boolean playEffect;
+    private boolean released = false;
 
     /**
-     * Creates animations from a sprite sheet.
+     * Creates animations from a sprite sheet, shared with every other sprite on the same sheet and layout.
      *
      * @param spriteSheetPath Path to sprite sheet
      * @param frameCols       Number of columns in the sheet
@@ -45,33 +38,19 @@ public class Sprite implements Disposable {
      * @param frameDuration   Duration of each frame
      */
     public Sprite(String spriteSheetPath, int frameCols, int frameRows, float frameDuration) {
-        this.spriteSheet = new Texture(Gdx.files.internal(spriteSheetPath));
-        this.animations = new EnumMap<>(Direction.class);
+        this(SpriteDefinition.acquire(spriteSheetPath, frameCols, frameRows, frameDuration));
+    }
+
+    /**
+     * @param definition A definition held for this sprite, released when the sprite is disposed
+     */
+    public Sprite(SpriteDefinition definition) {
+        this.definition = definition;
         this.hitboxes = new EnumMap<>(Direction.class);
         this.currentDirection = Direction.IDLE;
         this.stateTime = 0f;
 
-        this.spriteWidth = spriteSheet.getWidth() / frameCols;
-        this.spriteHeight = spriteSheet.getHeight() / frameRows;
-
-        TextureRegion[][] tmp = TextureRegion.split(spriteSheet,
-            spriteWidth,
-            spriteHeight);
-
-        // Assign animations per direction assuming rows = directions in order:
-        // UP, DOWN, LEFT, RIGHT, IDLE
-
-        Direction[] dirs = Direction.values();
-        int rowsToUse = Math.min(frameRows, dirs.length);
-
-        for (int r = 0; r < rowsToUse; r++) {
-            TextureRegion[] frames = tmp[r];
-            animations.put(dirs[r], new Animation<>(frameDuration, frames));
-        }
-
-        effect = new ParticleEffect();
-        effect.load(Gdx.files.internal("particles/death_particle/death_particle.p"), Gdx.files.internal("particles/death_particle"));
-        playEffect = false;
+        definition.getHitboxes().forEach((dir, template) -> hitboxes.put(dir, new Hitbox(template)));
     }
 
     /**
@@ -111,7 +90,6 @@ public class Sprite implements Disposable {
      */
     public void update(float deltaTime) {
         stateTime += deltaTime;
-        effect.update(deltaTime);
 
         if (flashing) {
             flashTimer -= deltaTime;
@@ -123,7 +101,7 @@ public class Sprite implements Disposable {
 
     public boolean isAnimationFinished() {
         if (currentAnimation == null) return false;
-        Animation<TextureRegion> anim = customAnimations.get(currentAnimation);
+        Animation<TextureRegion> anim = definition.getAnimation(currentAnimation);
         return anim != null && anim.isAnimationFinished(stateTime);
     }
 
@@ -137,14 +115,14 @@ public class Sprite implements Disposable {
      */
     public TextureRegion getCurrentFrame() {
         if (currentAnimation != null) {
-            Animation<TextureRegion> anim = customAnimations.get(currentAnimation);
+            Animation<TextureRegion> anim = definition.getAnimation(currentAnimation);
             if (anim != null) {
                 return anim.getKeyFrame(stateTime, loopCurrent);
             }
         }
 
-        Animation<TextureRegion> anim = animations.get(currentDirection);
-        if (anim == null) anim = animations.get(Direction.IDLE); // fallback
+        Animation<TextureRegion> anim = definition.getAnimation(currentDirection);
+        if (anim == null) anim = definition.getAnimation(Direction.IDLE); // fallback
         return anim != null ? anim.getKeyFrame(stateTime, true) : null;
     }
 
@@ -168,11 +146,13 @@ public class Sprite implements Disposable {
     }
 
     /**
-     * Dispose of texture resources
+     * Releases the shared definition, freeing the sheet if this was its last sprite
      */
     @Override
     public void dispose() {
-        if (spriteSheet != null) spriteSheet.dispose();
+        if (released) return;
+        released = true;
+        definition.release();
     }
 
     /**
@@ -195,14 +175,10 @@ public class Sprite implements Disposable {
                 batch.setColor(1f, 1f, 1f, 1f); // normal
             }
 
-            batch.draw(frame, x, y, spriteWidth / 32f, spriteHeight / 32f);
+            batch.draw(frame, x, y, definition.getSpriteWidth() / 32f, definition.getSpriteHeight() / 32f);
             batch.setColor(1f, 1f, 1f, 1f); // reset
         }
 
-        if (playEffect) {
-            effect.draw(batch);
-        }
-
     }
 
     /**
@@ -212,18 +188,8 @@ public class Sprite implements Disposable {
         stateTime = 0f;
     }
 
-    public void addAnimation(String key, TextureRegion[] frames, float frameDuration, boolean loop) {
-        Array<TextureRegion> array = new Array<>(frames);
-        Animation<TextureRegion> anim = new Animation<>(
-            frameDuration,
-            array,
-            loop ? Animation.PlayMode.LOOP : Animation.PlayMode.NORMAL
-        );
-        customAnimations.put(key, anim);
-    }
-
     public void playAnimation(String key, boolean loop) {
-        if (!customAnimations.containsKey(key)) return;
+        if (definition.getAnimation(key) == null) return;
 
         if (!key.equals(currentAnimation)) {
             currentAnimation = key;
@@ -232,11 +198,8 @@ public class Sprite implements Disposable {
         }
     }
 
-    public void playDeathEffect(float x, float y) {
-        effect.setPosition(x, y);
-        effect.start();
-
-        playEffect = true;
+    public SpriteDefinition getDefinition() {
+        return definition;
     }
 
     public enum Direction {
@@ -0,0 +1,128 @@
+package com.mjolkster.artifice.util.graphics;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.mjolkster.artifice.io.AssetCache;
+import com.mjolkster.artifice.util.geometry.Hitbox;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The parts of a {@link Sprite} that every entity using the same sheet shares: the texture, the per-direction and
+ * named animations, and the hitbox templates. Definitions are cached by sheet and layout and counted like
+ * {@link AssetCache} assets, so twenty slugs split and upload one sheet and the last to go frees it.
+ * Must be used on the render thread.
+ */
+public class SpriteDefinition {
+
+    private static final Map<String, SpriteDefinition> cache = new HashMap<>();
+
+    private final String key;
+    private final String texturePath;
+    private final Texture texture;
+    private final int spriteWidth;
+    private final int spriteHeight;
+    private final Map<Sprite.Direction, Animation<TextureRegion>> animations = new EnumMap<>(Sprite.Direction.class);
+    private final Map<String, Animation<TextureRegion>> customAnimations = new HashMap<>();
+    private final Map<Sprite.Direction, Hitbox> hitboxes = new EnumMap<>(Sprite.Direction.class);
+    private int users;
+
+    private SpriteDefinition(String key, String texturePath, int frameCols, int frameRows, float frameDuration) {
+        this.key = key;
+        this.texturePath = texturePath;
+        this.texture = AssetCache.acquire(texturePath, Texture.class);
+        this.spriteWidth = texture.getWidth() / frameCols;
+        this.spriteHeight = texture.getHeight() / frameRows;
+
+        TextureRegion[][] tmp = TextureRegion.split(texture, spriteWidth, spriteHeight);
+
+        // Assign animations per direction assuming rows = directions in order:
+        // UP, DOWN, LEFT, RIGHT, IDLE
+
+        Sprite.Direction[] dirs = Sprite.Direction.values();
+        int rowsToUse = Math.min(frameRows, dirs.length);
+
+        for (int r = 0; r < rowsToUse; r++) {
+            animations.put(dirs[r], new Animation<>(frameDuration, tmp[r]));
+        }
+    }
+
+    /**
+     * Takes a hold on the definition for a sheet, building it if no one holds it
+     *
+     * @param spriteSheetPath Path to sprite sheet
+     * @param frameCols       Number of columns in the sheet
+     * @param frameRows       Number of rows in the sheet
+     * @param frameDuration   Duration of each frame
+     */
+    public static SpriteDefinition acquire(String spriteSheetPath, int frameCols, int frameRows, float frameDuration) {
+        return acquire(spriteSheetPath, frameCols, frameRows, frameDuration, null);
+    }
+
+    /**
+     * As {@link #acquire(String, int, int, float)}, with the hitboxes and extra animations added by setup the one
+     * time the definition is built
+     */
+    public static synchronized SpriteDefinition acquire(String spriteSheetPath, int frameCols, int frameRows,
+                                                        float frameDuration, Consumer<SpriteDefinition> setup) {
+        String key = spriteSheetPath + ':' + frameCols + 'x' + frameRows + '@' + frameDuration;
+        SpriteDefinition definition = cache.get(key);
+        if (definition == null) {
+            definition = new SpriteDefinition(key, spriteSheetPath, frameCols, frameRows, frameDuration);
+            if (setup != null) setup.accept(definition);
+            cache.put(key, definition);
+        }
+        definition.users++;
+        return definition;
+    }
+
+    /**
+     * Gives up a hold taken by {@link #acquire}, the last one out frees the texture
+     */
+    public void release() {
+        synchronized (SpriteDefinition.class) {
+            if (users == 0) return;
+            if (--users > 0) return;
+
+            cache.remove(key);
+            AssetCache.release(texturePath);
+        }
+    }
+
+    /**
+     * Sets the hitbox template for a direction; each {@link Sprite} works on its own copy
+     */
+    public void setHitbox(Sprite.Direction dir, Hitbox hitbox) {
+        hitboxes.put(dir, hitbox);
+    }
+
+    public void addAnimation(String key, TextureRegion[] frames, float frameDuration, boolean loop) {
+        customAnimations.put(key, new Animation<>(
+            frameDuration,
+            new Array<>(frames),
+            loop ? Animation.PlayMode.LOOP : Animation.PlayMode.NORMAL
+        ));
+    }
+
+    public Animation<TextureRegion> getAnimation(Sprite.Direction dir) {
+        return animations.get(dir);
+    }
+
+    public Animation<TextureRegion> getAnimation(String key) {
+        return customAnimations.get(key);
+    }
+
+    public Map<Sprite.Direction, Hitbox> getHitboxes() {
+        return Collections.unmodifiableMap(hitboxes);
+    }
+
+    public Texture getTexture() { return texture; }
+    public int getSpriteWidth() { return spriteWidth; }
+    public int getSpriteHeight() { return spriteHeight; }
+}
@@ -0,0 +1,296 @@
+package com.mjolkster.artifice.lwjgl3;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import com.mjolkster.artifice.core.world.ChunkManager;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.ChunkData;
+import com.mjolkster.artifice.core.world.generation.ChunkGenerator;
+import com.mjolkster.artifice.core.world.generation.ContourTracer;
+import com.mjolkster.artifice.graphics.screen.GameScreen;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+import com.mjolkster.artifice.util.geometry.SegmentBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless tool behind the {@code checkChunkSeams} task. Checks that chunked worlds of the size {@link GameScreen}
+ * streams meet seamlessly and stream in and out cleanly:
+ * <ul>
+ *     <li>Chunks come out the same whatever order and thread they are generated on</li>
+ *     <li>Neighbouring chunks agree on the vertices along their shared edge</li>
+ *     <li>Every nav cell matches its tile state</li>
+ *     <li>The {@link ContourTracer} segments of two neighbours together are the segments of the pair traced as one</li>
+ *     <li>Loading, evicting and reloading the chunks around a point through a {@link ChunkManager} restores the same
+ *     Box2D body count, segment count and nav grid</li>
+ * </ul>
+ * Exits with an error on the first failure. Usage: {@code ChunkSeamCheck [seeds]}
+ */
+public class ChunkSeamCheck {
+
+    private static final int DEFAULT_SEEDS = 50;
+
+    // All four corners floor
+    private static final int FLOOR = 15;
+
+    // ContourTracer's lattice, half tiles across and sixteenths of a tile up
+    private static final int LATTICE_X = 2;
+    private static final int LATTICE_Y = 16;
+
+    public static void main(String[] args) throws Exception {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+
+        Box2D.init();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (int i = 0; i < seeds; i++) {
+                long seed = i * 7919L;
+                ChunkGenerator generator = new ChunkGenerator(seed, GameScreen.CHUNKS_WIDE, GameScreen.CHUNKS_HIGH);
+
+                ChunkData[][] chunks = generateInOrder(generator);
+                checkDeterministic(generator, chunks, executor);
+                checkSeams(generator, chunks);
+                checkStreaming(generator);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println("Chunk seams and streaming consistent for " + seeds + " seeds of "
+            + GameScreen.CHUNKS_WIDE + "x" + GameScreen.CHUNKS_HIGH + " chunks");
+    }
+
+    private static ChunkData[][] generateInOrder(ChunkGenerator generator) {
+        ChunkData[][] chunks = new ChunkData[generator.getChunksWide()][generator.getChunksHigh()];
+        for (int cy = 0; cy < generator.getChunksHigh(); cy++) {
+            for (int cx = 0; cx < generator.getChunksWide(); cx++) {
+                chunks[cx][cy] = generator.generate(cx, cy);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Generates every chunk again, last first and across the pool, and compares it with the first run
+     */
+    private static void checkDeterministic(ChunkGenerator generator, ChunkData[][] chunks, ExecutorService executor)
+        throws Exception {
+        List<Future<ChunkData>> again = new ArrayList<>();
+        for (int cy = generator.getChunksHigh() - 1; cy >= 0; cy--) {
+            for (int cx = generator.getChunksWide() - 1; cx >= 0; cx--) {
+                int chunkX = cx;
+                int chunkY = cy;
+                again.add(executor.submit(() -> generator.generate(chunkX, chunkY)));
+            }
+        }
+
+        for (Future<ChunkData> future : again) {
+            ChunkData second = future.get();
+            ChunkData first = chunks[second.getChunkX()][second.getChunkY()];
+            String where = where(generator, first);
+
+            require(Arrays.equals(first.getTileStates().getCells(), second.getTileStates().getCells()),
+                "tile states differ between runs", where);
+            require(Arrays.equals(first.getNavGrid().getCells(), second.getNavGrid().getCells()),
+                "nav differs between runs", where);
+            require(Arrays.equals(first.getMossMask().getCells(), second.getMossMask().getCells()),
+                "moss differs between runs", where);
+            require(pieces(first.getCollisionOutlines()).equals(pieces(second.getCollisionOutlines())),
+                "collision segments differ between runs", where);
+        }
+    }
+
+    private static void checkSeams(ChunkGenerator generator, ChunkData[][] chunks) {
+        for (int cy = 0; cy < generator.getChunksHigh(); cy++) {
+            for (int cx = 0; cx < generator.getChunksWide(); cx++) {
+                ChunkData chunk = chunks[cx][cy];
+                checkNav(generator, chunk);
+
+                if (cx + 1 < generator.getChunksWide()) {
+                    checkVerticalEdge(generator, chunk, chunks[cx + 1][cy]);
+                    checkContours(generator, chunk, chunks[cx + 1][cy]);
+                }
+                if (cy + 1 < generator.getChunksHigh()) {
+                    checkHorizontalEdge(generator, chunk, chunks[cx][cy + 1]);
+                    checkContours(generator, chunk, chunks[cx][cy + 1]);
+                }
+            }
+        }
+    }
+
+    private static void checkNav(ChunkGenerator generator, ChunkData chunk) {
+        ByteGrid states = chunk.getTileStates();
+        ByteGrid nav = chunk.getNavGrid();
+        for (int y = states.getMinY(); y <= states.getMaxY(); y++) {
+            for (int x = states.getMinX(); x <= states.getMaxX(); x++) {
+                require(nav.get(x, y) == (states.get(x, y) == FLOOR ? 0 : 1),
+                    "nav cell (" + x + ", " + y + ") doesn't match its tile", where(generator, chunk));
+            }
+        }
+    }
+
+    /**
+     * The right corners of the left chunk's last column against the left corners of the right chunk's first
+     */
+    private static void checkVerticalEdge(ChunkGenerator generator, ChunkData left, ChunkData right) {
+        ByteGrid leftStates = left.getTileStates();
+        ByteGrid rightStates = right.getTileStates();
+        int x = leftStates.getMaxX();
+        for (int y = leftStates.getMinY(); y <= leftStates.getMaxY(); y++) {
+            int a = leftStates.get(x, y);
+            int b = rightStates.get(x + 1, y);
+            require(corner(a, 1) == corner(b, 0) && corner(a, 2) == corner(b, 3),
+                "vertices differ across the edge at (" + (x + 1) + ", " + y + ")", where(generator, left));
+        }
+    }
+
+    /**
+     * The top corners of the lower chunk's last row against the bottom corners of the upper chunk's first
+     */
+    private static void checkHorizontalEdge(ChunkGenerator generator, ChunkData lower, ChunkData upper) {
+        ByteGrid lowerStates = lower.getTileStates();
+        ByteGrid upperStates = upper.getTileStates();
+        int y = lowerStates.getMaxY();
+        for (int x = lowerStates.getMinX(); x <= lowerStates.getMaxX(); x++) {
+            int a = lowerStates.get(x, y);
+            int b = upperStates.get(x, y + 1);
+            require(corner(a, 3) == corner(b, 0) && corner(a, 2) == corner(b, 1),
+                "vertices differ across the edge at (" + x + ", " + (y + 1) + ")", where(generator, lower));
+        }
+    }
+
+    /**
+     * Traces the two chunks as one grid and compares the segments, cut into lattice steps since straight runs are
+     * merged differently either side of the edge
+     */
+    private static void checkContours(ChunkGenerator generator, ChunkData a, ChunkData b) {
+        ByteGrid aStates = a.getTileStates();
+        ByteGrid bStates = b.getTileStates();
+        int minX = Math.min(aStates.getMinX(), bStates.getMinX());
+        int minY = Math.min(aStates.getMinY(), bStates.getMinY());
+        int maxX = Math.max(aStates.getMaxX(), bStates.getMaxX());
+        int maxY = Math.max(aStates.getMaxY(), bStates.getMaxY());
+
+        ByteGrid pair = new ByteGrid(minX, minY, maxX - minX + 1, maxY - minY + 1);
+        for (ByteGrid states : new ByteGrid[]{aStates, bStates}) {
+            for (int y = states.getMinY(); y <= states.getMaxY(); y++) {
+                for (int x = states.getMinX(); x <= states.getMaxX(); x++) {
+                    pair.set(x, y, states.get(x, y));
+                }
+            }
+        }
+
+        Set<Long> separate = pieces(a.getCollisionOutlines());
+        separate.addAll(pieces(b.getCollisionOutlines()));
+        Set<Long> together = pieces(new ContourTracer(pair, 1f, 1f).trace());
+
+        require(separate.equals(together), "collision segments don't meet across the edge with chunk ("
+            + b.getChunkX() + ", " + b.getChunkY() + ")", where(generator, a));
+    }
+
+    /**
+     * Streams the chunks around the spawn in, out by moving to the far end of the world, and back in
+     */
+    private static void checkStreaming(ChunkGenerator generator) throws InterruptedException {
+        World world = new World(new Vector2(0, -9.8f), true);
+        ByteGrid navGrid = new ByteGrid(0, 0, generator.getWidth(), generator.getHeight());
+        navGrid.fill(1);
+        SegmentBuffer segments = new SegmentBuffer();
+        ChunkManager manager = new ChunkManager(generator, null, navGrid, world, segments);
+
+        try {
+            Vector2 spawn = generator.getSpawnPoint(1, 1);
+            settle(manager, spawn.x, spawn.y);
+            int bodies = world.getBodyCount();
+            int segmentCount = segments.size();
+            int loaded = manager.getLoadedCount();
+            byte[] nav = navGrid.getCells().clone();
+
+            // The far end is out of range of the spawn, so the chunks around the spawn have to be evicted
+            Vector2 end = generator.getEndPoint(1, 1);
+            settle(manager, end.x, end.y);
+            require(!Arrays.equals(navGrid.getCells(), nav), "nothing was evicted",
+                "seed " + generator.getSeed() + " at the far end");
+
+            settle(manager, spawn.x, spawn.y);
+            String where = "seed " + generator.getSeed() + " after reloading the spawn";
+            require(manager.getLoadedCount() == loaded,
+                "loaded " + manager.getLoadedCount() + " chunks, not " + loaded, where);
+            require(world.getBodyCount() == bodies, world.getBodyCount() + " bodies, not " + bodies, where);
+            require(segments.size() == segmentCount, segments.size() + " segments, not " + segmentCount, where);
+            require(Arrays.equals(navGrid.getCells(), nav), "nav grid differs", where);
+        } finally {
+            manager.dispose();
+            world.dispose();
+        }
+    }
+
+    /**
+     * Updates the manager at a position until every chunk it asked for is merged
+     */
+    private static void settle(ChunkManager manager, float x, float y) throws InterruptedException {
+        manager.update(x, y);
+        while (manager.getPendingCount() > 0) {
+            Thread.sleep(1);
+            manager.update(x, y);
+        }
+    }
+
+    /**
+     * Every segment as unit steps on the tracer's lattice, each packed into a long
+     */
+    private static Set<Long> pieces(OutlineSet outlines) {
+        Set<Long> pieces = new HashSet<>();
+        for (int i = 0; i < outlines.size(); i++) {
+            int points = outlines.pointCount(i);
+            for (int s = 0; s < outlines.segmentCount(i); s++) {
+                int next = (s + 1) % points;
+                int x0 = Math.round(outlines.getX(i, s) * LATTICE_X);
+                int y0 = Math.round(outlines.getY(i, s) * LATTICE_Y);
+                int x1 = Math.round(outlines.getX(i, next) * LATTICE_X);
+                int y1 = Math.round(outlines.getY(i, next) * LATTICE_Y);
+
+                int steps = Math.max(Math.abs(x1 - x0), Math.abs(y1 - y0));
+                int dx = Integer.signum(x1 - x0);
+                int dy = Integer.signum(y1 - y0);
+                for (int step = 0; step < steps; step++) {
+                    pieces.add(piece(x0 + dx * step, y0 + dy * step, x0 + dx * (step + 1), y0 + dy * (step + 1)));
+                }
+            }
+        }
+        return pieces;
+    }
+
+    // Direction free, so a step is the same piece whichever way its outline runs
+    private static long piece(int x0, int y0, int x1, int y1) {
+        if (x1 < x0 || (x1 == x0 && y1 < y0)) {
+            return piece(x1, y1, x0, y0);
+        }
+        return ((long) (x0 & 0xFFFF) << 48) | ((long) (y0 & 0xFFFF) << 32) | ((x1 & 0xFFFF) << 16) | (y1 & 0xFFFF);
+    }
+
+    /**
+     * Corner bit of a marching squares state: 0 bottom left, 1 bottom right, 2 top right, 3 top left
+     */
+    private static int corner(int state, int bit) {
+        return (state >> bit) & 1;
+    }
+
+    private static String where(ChunkGenerator generator, ChunkData chunk) {
+        return "seed " + generator.getSeed() + ", chunk (" + chunk.getChunkX() + ", " + chunk.getChunkY() + ")";
+    }
+
+    private static void require(boolean condition, String failure, String where) {
+        if (!condition) {
+            throw new IllegalStateException(where + ": " + failure);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mjolkster.artifice.lwjgl3;
+
+import com.mjolkster.artifice.io.OutlineFile;
+import com.mjolkster.artifice.util.geometry.MaskOutlineCompiler;
+import com.mjolkster.artifice.util.geometry.OutlineSet;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+/**
+ * Build-time tool behind the {@code bakeCollisions} task. Bakes the static collision sources in assets/ into
+ * {@link OutlineFile}s so screens don't trace masks or parse TMX object layers when they're entered.
+ * <ul>
+ *     <li>{@code .png} masks are traced with {@link MaskOutlineCompiler}, black pixels are solid</li>
+ *     <li>{@code .tmx} maps have the polylines of their {@code Collisions} object layer copied out</li>
+ * </ul>
+ * Usage: {@code CollisionBaker <assets dir> <source>...} with sources relative to the assets dir.
+ */
+public class CollisionBaker {
+
+    private static final float UNIT_SCALE = 1 / 32f;
+
+    // One pixel is 1/32 of a tile, so staircases within a pixel of a straight line are smoothed out
+    private static final float MASK_TOLERANCE = 1f;
+
+    private static final String COLLISION_LAYER = "Collisions";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: CollisionBaker <assets dir> <source>...");
+        }
+
+        File assets = new File(args[0]);
+        for (int i = 1; i < args.length; i++) {
+            String source = args[i].replace('\\', '/');
+            File input = new File(assets, source);
+
+            OutlineSet outlines;
+            if (source.endsWith(".png")) {
+                outlines = bakeMask(input);
+            } else if (source.endsWith(".tmx")) {
+                outlines = bakeTmx(input);
+            } else {
+                throw new IllegalArgumentException("Don't know how to bake " + source);
+            }
+
+            File output = new File(assets, OutlineFile.bakedPath(source));
+            OutlineFile.save(outlines, output);
+            System.out.println("Baked " + source + ": " + outlines.size() + " outlines, "
+                + outlines.totalSegments() + " segments -> " + OutlineFile.bakedPath(source));
+        }
+    }
+
+    private static OutlineSet bakeMask(File input) throws Exception {
+        BufferedImage image = ImageIO.read(input);
+        if (image == null) {
+            throw new IllegalArgumentException("Unreadable image " + input);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+
+        byte[] solid = new byte[width * height];
+        for (int i = 0; i < solid.length; i++) {
+            if ((rgb[i] & 0xFFFFFF) == 0) {
+                solid[i] = 1;
+            }
+        }
+
+        return new MaskOutlineCompiler(UNIT_SCALE, MASK_TOLERANCE).compile(solid, width, height);
+    }
+
+    /**
+     * Matches what {@code TmxMapLoader} and {@code Polyline.getTransformedVertices()} gave the sublevel screen:
+     * points are offset by the object's position and y is flipped against the map's pixel height
+     */
+    private static OutlineSet bakeTmx(File input) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(input);
+        Element map = document.getDocumentElement();
+        float mapHeight = Integer.parseInt(map.getAttribute("height")) * Integer.parseInt(map.getAttribute("tileheight"));
+
+        OutlineSet.Builder outlines = new OutlineSet.Builder();
+
+        NodeList groups = map.getElementsByTagName("objectgroup");
+        for (int g = 0; g < groups.getLength(); g++) {
+            Element group = (Element) groups.item(g);
+            if (!COLLISION_LAYER.equals(group.getAttribute("name"))) continue;
+
+            NodeList objects = group.getElementsByTagName("object");
+            for (int o = 0; o < objects.getLength(); o++) {
+                Element object = (Element) objects.item(o);
+                NodeList polylines = object.getElementsByTagName("polyline");
+                if (polylines.getLength() == 0) continue;
+
+                float x = floatAttribute(object, "x");
+                float y = mapHeight - floatAttribute(object, "y");
+
+                outlines.begin();
+                for (String point : ((Element) polylines.item(0)).getAttribute("points").trim().split("\\s+")) {
+                    String[] xy = point.split(",");
+                    outlines.point((x + Float.parseFloat(xy[0])) * UNIT_SCALE, (y - Float.parseFloat(xy[1])) * UNIT_SCALE);
+                }
+                outlines.end(false);
+            }
+        }
+
+        return outlines.build();
+    }
+
+    private static float floatAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isEmpty() ? 0 : Float.parseFloat(value);
+    }
+}
@@ -0,0 +1,212 @@
+package com.mjolkster.artifice.lwjgl3;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mjolkster.artifice.core.world.LevelPrefetcher;
+import com.mjolkster.artifice.core.world.generation.ByteGrid;
+import com.mjolkster.artifice.core.world.generation.GenerationStats;
+import com.mjolkster.artifice.core.world.generation.LevelData;
+import com.mjolkster.artifice.core.world.generation.MapGenerator;
+import com.mjolkster.artifice.core.world.generation.PipeRoute;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless tool behind the {@code analyseSeeds} task. Generates levels for seeds spread evenly over the seed space
+ * on every core and streams a CSV row per seed, for finding seeds that generate slowly or badly. Levels are
+ * generated directly, bypassing the {@link com.mjolkster.artifice.io.LevelCache LevelCache}.
+ * <p>
+ * Usage: {@code SeedAnalysis <output csv> [count] [threads] [boss]}
+ */
+public class SeedAnalysis {
+
+    private static final int DEFAULT_COUNT = 20000;
+
+    // How many of the slowest seeds to print once the run finishes
+    private static final int SLOWEST_SHOWN = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: SeedAnalysis <output csv> [count] [threads] [boss]");
+        }
+
+        File output = new File(args[0]);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_COUNT;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        boolean boss = args.length > 3 && Boolean.parseBoolean(args[3]);
+        int size = boss ? MapGenerator.BOSS_LEVEL_SIZE : MapGenerator.LEVEL_SIZE;
+
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<Row> results = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < count; i++) {
+            long seed = i * LevelPrefetcher.SEED_RANGE / count;
+            results.submit(() -> analyse(seed, size));
+        }
+
+        List<Row> slowest = new ArrayList<>();
+        long started = System.nanoTime();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(Row.header());
+            writer.newLine();
+
+            for (int done = 1; done <= count; done++) {
+                Row row;
+                try {
+                    row = results.take().get();
+                } catch (ExecutionException e) {
+                    throw new IOException("Generation failed", e.getCause());
+                }
+
+                writer.write(row.toCsv());
+                writer.newLine();
+
+                slowest.add(row);
+                if (slowest.size() > SLOWEST_SHOWN) {
+                    slowest.sort(Comparator.comparingLong((Row r) -> r.stats.getTotalNanos()).reversed());
+                    slowest.remove(SLOWEST_SHOWN);
+                }
+
+                if (done % 1000 == 0 || done == count) {
+                    writer.flush();
+                    System.out.println(done + "/" + count + " seeds in "
+                        + (System.nanoTime() - started) / 1000000 + " ms");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        slowest.sort(Comparator.comparingLong((Row r) -> r.stats.getTotalNanos()).reversed());
+        System.out.println("Slowest seeds:");
+        for (Row row : slowest) {
+            System.out.println("  " + row.seed + ": " + row.stats.getTotalNanos() / 1000 + " us");
+        }
+    }
+
+    private static Row analyse(long seed, int size) {
+        GenerationStats stats = new GenerationStats();
+        LevelData level = new MapGenerator(32, 32, seed).generateLevel(size, size, stats);
+
+        int pipeLength = 0;
+        for (PipeRoute pipe : level.getPipes()) {
+            pipeLength += pipe.length();
+        }
+
+        return new Row(seed, stats,
+            level.getNavGrid().count(0),
+            pathLength(level),
+            level.getPipes().size(),
+            pipeLength,
+            level.getCollisionOutlines().totalSegments());
+    }
+
+    /**
+     * Steps on the shortest four-way walk from spawn to exit over the nav grid, -1 if the exit can't be reached
+     */
+    private static int pathLength(LevelData level) {
+        ByteGrid nav = level.getNavGrid();
+        Vector2 spawn = level.getSpawnPoint();
+        Vector2 end = level.getEndPoint();
+
+        int startX = (int) (spawn.x / level.getTileWidth());
+        int startY = (int) (spawn.y / level.getTileHeight());
+        int goalX = (int) (end.x / level.getTileWidth());
+        int goalY = (int) (end.y / level.getTileHeight());
+        if (!nav.contains(startX, startY) || !nav.contains(goalX, goalY)) return -1;
+
+        byte[] cells = nav.getCells();
+        int width = nav.getWidth();
+        int[] distance = new int[cells.length];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[cells.length];
+
+        int start = nav.index(startX, startY);
+        int goal = nav.index(goalX, goalY);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        distance[start] = 0;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            if (cell == goal) return distance[cell];
+
+            int column = cell % width;
+            int[] neighbours = {
+                column > 0 ? cell - 1 : -1,
+                column < width - 1 ? cell + 1 : -1,
+                cell - width,
+                cell + width
+            };
+            for (int next : neighbours) {
+                if (next < 0 || next >= cells.length || cells[next] != 0 || distance[next] >= 0) continue;
+                distance[next] = distance[cell] + 1;
+                queue[tail++] = next;
+            }
+        }
+        return -1;
+    }
+
+    private static class Row {
+        final long seed;
+        final GenerationStats stats;
+        final int walkableCells;
+        final int pathLength;
+        final int pipes;
+        final int pipeLength;
+        final int collisionSegments;
+
+        Row(long seed, GenerationStats stats, int walkableCells, int pathLength, int pipes, int pipeLength,
+            int collisionSegments) {
+            this.seed = seed;
+            this.stats = stats;
+            this.walkableCells = walkableCells;
+            this.pathLength = pathLength;
+            this.pipes = pipes;
+            this.pipeLength = pipeLength;
+            this.collisionSegments = collisionSegments;
+        }
+
+        static String header() {
+            StringBuilder header = new StringBuilder("seed");
+            for (GenerationStats.Stage stage : GenerationStats.Stage.values()) {
+                header.append(',').append(stage.name().toLowerCase()).append("_us");
+            }
+            return header.append(",total_us,islands_before,islands_after,walkable_cells,path_length,pipes,")
+                .append("pipe_length,collision_segments").toString();
+        }
+
+        String toCsv() {
+            StringBuilder row = new StringBuilder().append(seed);
+            for (GenerationStats.Stage stage : GenerationStats.Stage.values()) {
+                row.append(',').append(stats.getNanos(stage) / 1000);
+            }
+            return row.append(',').append(stats.getTotalNanos() / 1000)
+                .append(',').append(stats.getIslandsBefore())
+                .append(',').append(stats.getIslandsAfter())
+                .append(',').append(walkableCells)
+                .append(',').append(pathLength)
+                .append(',').append(pipes)
+                .append(',').append(pipeLength)
+                .append(',').append(collisionSegments)
+                .toString();
+        }
+    }
+}